@@ -0,0 +1,28 @@
+#!/bin/sh
+# Runs the compatibility tests and the JMH benchmarks against every jackson-databind version of the matrix (the
+# jackson-* profiles in pom.xml) and reports the results side by side in target/compatibility-matrix/report.md.
+# Arguments are passed to JMH, for example:
+#   ./compatibility-matrix.sh EnumDeserializationBenchmark -wi 2 -i 3 -f 1
+set -e
+
+VERSIONS="2.3 2.5 2.9 2.12 latest"
+RESULTS=target/compatibility-matrix
+
+rm -rf "$RESULTS"
+mvn -B install -DskipTests
+for version in $VERSIONS; do
+    mkdir -p "$RESULTS/$version"
+    # test failures are part of the report rather than stopping the matrix
+    mvn -B -P "jackson-$version" -pl enum-deserializer-compatibility,enum-deserializer-benchmarks clean package \
+        -Dmaven.test.failure.ignore=true
+    cp -r enum-deserializer-compatibility/target/surefire-reports "$RESULTS/$version/"
+    java -jar enum-deserializer-benchmarks/target/benchmarks.jar -rf json -rff "$RESULTS/$version/jmh.json" "$@"
+done
+
+dirs=""
+for version in $VERSIONS; do
+    dirs="$dirs $RESULTS/$version"
+done
+java -cp enum-deserializer-benchmarks/target/benchmarks.jar com.cvent.enumdeserializer.benchmarks.MatrixReport $dirs \
+    > "$RESULTS/report.md"
+echo "Report written to $RESULTS/report.md"
@@ -0,0 +1,58 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.cvent.enumdeserializer.EnumDeserializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Object mappers that the benchmarks compare. The benchmarks are built against every jackson-databind version in the
+ * compatibility matrix, so they stick to APIs that exist in all of them: {@code addMixInAnnotations} and
+ * {@code reader(type)} rather than {@code addMixIn} and {@code readerFor}, which only came with 2.5 and 2.6.
+ */
+public final class BenchmarkMappers {
+
+    /**
+     * Mixin to use the deserializer under test, the benchmark enums aren't annotated so that stock Jackson can read
+     * them too
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    private static class EnumDeserializerMixin {
+    }
+
+    /**
+     * Which deserializer a mapper uses for the benchmark enums
+     */
+    public enum Implementation {
+        ENUM_DESERIALIZER,
+        STOCK
+    }
+
+    private BenchmarkMappers() {
+    }
+
+    /**
+     * Create a mapper
+     * @param implementation the deserializer to use for the benchmark enums
+     * @return a new mapper
+     */
+    public static ObjectMapper create(Implementation implementation) {
+        return create(implementation, new JsonFactory());
+    }
+
+    /**
+     * Create a mapper for another format than JSON
+     * @param implementation the deserializer to use for the benchmark enums
+     * @param factory factory of the format
+     * @return a new mapper
+     */
+    public static ObjectMapper create(Implementation implementation, JsonFactory factory) {
+        ObjectMapper mapper = new ObjectMapper(factory);
+        if (implementation == Implementation.ENUM_DESERIALIZER) {
+            for (EnumShape shape : EnumShape.values()) {
+                mapper.addMixInAnnotations(shape.getEnumClass(), EnumDeserializerMixin.class);
+            }
+        }
+        return mapper;
+    }
+}
@@ -0,0 +1,116 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a list of beans with an enum property from JSON, Smile and CBOR. Ints are binary in Smile and CBOR,
+ * and Smile refers back to names it already sent instead of repeating them, so the deserializer sees the same string
+ * instance for every element. Setup fails for combinations stock Jackson can't read, like in
+ * {@link EnumDeserializationBenchmark}.
+ *
+ * <p>Not built with the jackson-2.3 profile, since the binary formats don't have releases matching 2.3.5.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    /**
+     * Data format of the document
+     */
+    public enum Format {
+        JSON,
+        /**
+         * Smile with shared string values, which is what makes it refer back to names
+         */
+        SMILE,
+        CBOR;
+
+        JsonFactory createFactory() {
+            switch (this) {
+                case SMILE:
+                    SmileFactory smile = new SmileFactory();
+                    smile.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+                    return smile;
+                case CBOR:
+                    return new CBORFactory();
+                default:
+                    return new JsonFactory();
+            }
+        }
+    }
+
+    private static final int ELEMENTS = 1000;
+
+    @Param({"LARGE_CREATOR", "LARGE_FIELD"})
+    public EnumShape shape;
+
+    @Param
+    public Format format;
+
+    @Param({"INT", "NAME"})
+    public EnumDeserializationBenchmark.Input input;
+
+    @Param
+    public BenchmarkMappers.Implementation implementation;
+
+    private ObjectReader reader;
+    private byte[] document;
+
+    @Setup
+    public void setup() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        String value = EnumDeserializationBenchmark.encode(shape, input);
+        for (int i = 0; i < ELEMENTS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"value\":").append(value).append('}');
+        }
+        ObjectMapper mapper = BenchmarkMappers.create(implementation, format.createFactory());
+        // written from a tree, so that codes stay numbers and names stay strings in every format
+        document = mapper.writeValueAsBytes(new ObjectMapper().readTree(json.append(']').toString()));
+        JavaType type = mapper.getTypeFactory().constructCollectionType(List.class,
+                mapper.getTypeFactory().constructParametricType(Holder.class, shape.getEnumClass()));
+        reader = mapper.reader(type);
+
+        List<Holder<?>> read;
+        try {
+            read = deserialize();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException(implementation + " can't read " + value + " as " + shape, ex);
+        }
+        for (Holder<?> holder : read) {
+            if (holder.value != shape.getConstant()) {
+                throw new IllegalStateException(implementation + " reads " + value + " as " + holder.value +
+                        " instead of " + shape.getConstant());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Holder<?>> deserialize() throws IOException {
+        return reader.readValue(document);
+    }
+}
@@ -0,0 +1,111 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.cvent.enumdeserializer.EnumColumnCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a large JSON array of enums as an array of constants through a mapper with reading it into a
+ * reused column of ordinals with {@link EnumColumnCodec}. Run with {@code -prof gc} to see the allocation per
+ * operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkReadBenchmark {
+
+    /**
+     * How the elements are written
+     */
+    public enum Encoding {
+        /**
+         * The way {@link EnumColumnCodec} writes them: codes if the enum has any, names otherwise
+         */
+        CODEC,
+        NAME
+    }
+
+    private static final int ELEMENTS = 100_000;
+    private static final int CHUNK = 4096;
+
+    @Param({"LARGE_CREATOR", "LARGE_FIELD"})
+    public EnumShape shape;
+
+    @Param
+    public Encoding encoding;
+
+    private final JsonFactory factory = new JsonFactory();
+    private byte[] json;
+    private ObjectReader arrayReader;
+    private EnumColumnCodec<?> codec;
+    private final short[] column = new short[CHUNK];
+
+    @Setup
+    public void setup() throws IOException {
+        codec = EnumColumnCodec.forClass((Class) shape.getEnumClass());
+        Enum<?>[] constants = shape.getEnumClass().getEnumConstants();
+        short[] ordinals = new short[ELEMENTS];
+        for (int i = 0; i < ELEMENTS; i++) {
+            ordinals[i] = (short) (i % constants.length);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator gen = factory.createGenerator(out)) {
+            gen.writeStartArray();
+            if (encoding == Encoding.CODEC) {
+                codec.write(gen, ordinals, 0, ELEMENTS);
+            } else {
+                for (short ordinal : ordinals) {
+                    gen.writeString(constants[ordinal].name());
+                }
+            }
+            gen.writeEndArray();
+        }
+        json = out.toByteArray();
+        arrayReader = BenchmarkMappers.create(BenchmarkMappers.Implementation.ENUM_DESERIALIZER)
+                .reader(Array.newInstance(shape.getEnumClass(), 0).getClass());
+        if (readArray().length != ELEMENTS || readColumns() != ELEMENTS) {
+            throw new IllegalStateException("didn't read " + ELEMENTS + " elements");
+        }
+    }
+
+    @Benchmark
+    public Object[] readArray() throws IOException {
+        return arrayReader.readValue(json);
+    }
+
+    @Benchmark
+    public long readColumns() throws IOException {
+        long checksum = 0;
+        try (JsonParser jp = factory.createParser(json)) {
+            jp.nextToken();
+            int read;
+            while ((read = codec.read(jp, column, 0, CHUNK)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    checksum += column[i] >= 0 ? 1 : 0;
+                }
+            }
+        }
+        return checksum;
+    }
+}
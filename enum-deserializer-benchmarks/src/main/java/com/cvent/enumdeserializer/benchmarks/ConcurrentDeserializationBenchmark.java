@@ -0,0 +1,72 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how reading enums through one shared reader scales with the number of threads. Every method runs the same
+ * work with a different thread count; with the resolution shared immutably between threads the throughput per thread
+ * should stay flat up to the number of cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentDeserializationBenchmark {
+
+    @Param({"LARGE_CREATOR", "LARGE_FIELD"})
+    public EnumShape shape;
+
+    @Param({"INT", "NAME"})
+    public EnumDeserializationBenchmark.Input input;
+
+    private ObjectReader reader;
+    private String json;
+
+    @Setup
+    public void setup() {
+        reader = BenchmarkMappers.create(BenchmarkMappers.Implementation.ENUM_DESERIALIZER)
+                .reader(shape.getEnumClass());
+        json = EnumDeserializationBenchmark.encode(shape, input);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object threads01() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object threads04() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Object threads16() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Object threads64() throws IOException {
+        return reader.readValue(json);
+    }
+}
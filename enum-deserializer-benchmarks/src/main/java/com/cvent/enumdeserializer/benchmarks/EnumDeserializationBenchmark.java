@@ -0,0 +1,115 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading enums with EnumDeserializer against stock Jackson. Run with {@code -prof gc} to also get the
+ * allocation rate.
+ *
+ * <p>Stock Jackson doesn't read every encoding (numeric strings, or codes of enums without a creator, which it treats
+ * as ordinals). Setup fails for those combinations instead of measuring a different result, so they show up as errors
+ * in the run and are missing from the results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnumDeserializationBenchmark {
+
+    /**
+     * JSON encoding of the enum value
+     */
+    public enum Input {
+        INT,
+        NUMERIC_STRING,
+        NAME,
+        NULL
+    }
+
+    /**
+     * Whether the enum is read on its own or as the property of a bean
+     */
+    public enum Level {
+        ROOT,
+        PROPERTY
+    }
+
+    @Param
+    public EnumShape shape;
+
+    @Param
+    public Input input;
+
+    @Param
+    public Level level;
+
+    @Param
+    public BenchmarkMappers.Implementation implementation;
+
+    private ObjectReader reader;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = BenchmarkMappers.create(implementation);
+        String value = encode(shape, input);
+        if (level == Level.ROOT) {
+            reader = mapper.reader(shape.getEnumClass());
+            json = value;
+        } else {
+            JavaType type = mapper.getTypeFactory().constructParametricType(Holder.class, shape.getEnumClass());
+            reader = mapper.reader(type);
+            json = "{\"value\":" + value + "}";
+        }
+
+        Object expected = input == Input.NULL ? null : shape.getConstant();
+        Object actual;
+        try {
+            actual = read();
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException(implementation + " can't read " + json + " as " + shape, ex);
+        }
+        if (!Objects.equals(expected, actual)) {
+            throw new IllegalStateException(implementation + " reads " + json + " as " + actual + " instead of " +
+                    expected);
+        }
+    }
+
+    static String encode(EnumShape shape, Input input) {
+        switch (input) {
+            case INT: return Integer.toString(shape.getCode());
+            case NUMERIC_STRING: return "\"" + shape.getCode() + "\"";
+            case NAME: return "\"" + shape.getConstant().name() + "\"";
+            default: return "null";
+        }
+    }
+
+    private Object read() throws IOException {
+        Object value = reader.readValue(json);
+        return level == Level.ROOT ? value : ((Holder<?>) value).value;
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,33 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+/**
+ * The kinds of enums benchmarked, with the constant each benchmark reads and its code
+ */
+public enum EnumShape {
+    SMALL_CREATOR(SmallCreatorEnum.class, SmallCreatorEnum.Two, 2),
+    SMALL_FIELD(SmallFieldEnum.class, SmallFieldEnum.Two, 2),
+    LARGE_CREATOR(TimeZone.class, TimeZone.FijiIslandsTime, 285),
+    LARGE_FIELD(FieldTimeZone.class, FieldTimeZone.FijiIslandsTime, 285);
+
+    private final Class<? extends Enum<?>> enumClass;
+    private final Enum<?> constant;
+    private final int code;
+
+    EnumShape(Class<? extends Enum<?>> enumClass, Enum<?> constant, int code) {
+        this.enumClass = enumClass;
+        this.constant = constant;
+        this.code = code;
+    }
+
+    public Class<? extends Enum<?>> getEnumClass() {
+        return enumClass;
+    }
+
+    public Enum<?> getConstant() {
+        return constant;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
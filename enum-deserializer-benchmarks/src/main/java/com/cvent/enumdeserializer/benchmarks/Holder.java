@@ -0,0 +1,9 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+/**
+ * Bean with a single enum property, to benchmark property-level deserialization
+ * @param <E> the enum type
+ */
+public class Holder<E> {
+    public E value;
+}
@@ -0,0 +1,180 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Puts the results of the compatibility matrix side by side, one column per jackson-databind version, so that
+ * behavioral drift and throughput regressions between versions stand out. Every argument is the results directory of
+ * one version, named after it and holding the {@code surefire-reports} of enum-deserializer-compatibility and a JMH
+ * {@code jmh.json}, as written by compatibility-matrix.sh. The report is printed as markdown.
+ */
+public final class MatrixReport {
+
+    private static final String MISSING = "-";
+
+    private final List<String> versions = new ArrayList<>();
+    /**
+     * Outcome of every test case by version
+     */
+    private final Map<String, Map<String, String>> tests = new TreeMap<>();
+    /**
+     * Score of every benchmark and parameter combination by version
+     */
+    private final Map<String, Map<String, Score>> benchmarks = new TreeMap<>();
+
+    private MatrixReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("usage: MatrixReport <results directory of a version>...");
+            System.exit(2);
+        }
+        MatrixReport report = new MatrixReport();
+        for (String arg : args) {
+            report.addVersion(new File(arg));
+        }
+        report.print(System.out);
+    }
+
+    private void addVersion(File dir) throws Exception {
+        String version = dir.getName();
+        versions.add(version);
+        File[] reports = new File(dir, "surefire-reports").listFiles((d, name) -> name.startsWith("TEST-") &&
+                name.endsWith(".xml"));
+        if (reports != null) {
+            DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            for (File report : reports) {
+                NodeList testCases = builder.parse(report).getElementsByTagName("testcase");
+                for (int i = 0; i < testCases.getLength(); i++) {
+                    Element testCase = (Element) testCases.item(i);
+                    String name = testCase.getAttribute("classname") + "." + testCase.getAttribute("name");
+                    tests.computeIfAbsent(name, k -> new HashMap<>()).put(version, outcome(testCase));
+                }
+            }
+        }
+        File jmh = new File(dir, "jmh.json");
+        if (jmh.isFile()) {
+            for (JsonNode result : new ObjectMapper().readTree(jmh)) {
+                String benchmark = result.get("benchmark").asText();
+                StringBuilder name = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.',
+                        benchmark.lastIndexOf('.') - 1) + 1));
+                JsonNode params = result.get("params");
+                if (params != null) {
+                    Map<String, String> sorted = new TreeMap<>();
+                    for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                        Map.Entry<String, JsonNode> param = it.next();
+                        sorted.put(param.getKey(), param.getValue().asText());
+                    }
+                    name.append(' ').append(sorted);
+                }
+                JsonNode metric = result.get("primaryMetric");
+                benchmarks.computeIfAbsent(name.toString(), k -> new HashMap<>()).put(version,
+                        new Score(metric.get("score").asDouble(), metric.get("scoreError").asDouble(),
+                                metric.get("scoreUnit").asText()));
+            }
+        }
+    }
+
+    private static String outcome(Element testCase) {
+        if (testCase.getElementsByTagName("failure").getLength() > 0) {
+            return "FAIL";
+        } else if (testCase.getElementsByTagName("error").getLength() > 0) {
+            return "ERROR";
+        } else if (testCase.getElementsByTagName("skipped").getLength() > 0) {
+            return "skipped";
+        }
+        return "pass";
+    }
+
+    private void print(PrintStream out) {
+        out.println("# Test cases");
+        out.println();
+        header(out, "Test", "Drift");
+        for (Map.Entry<String, Map<String, String>> test : tests.entrySet()) {
+            StringBuilder row = new StringBuilder("| ").append(test.getKey());
+            String first = null;
+            boolean drift = false;
+            for (String version : versions) {
+                String outcome = test.getValue().getOrDefault(version, MISSING);
+                first = first == null ? outcome : first;
+                drift |= !outcome.equals(first);
+                row.append(" | ").append(outcome);
+            }
+            out.println(row.append(drift ? " | drift |" : " | |"));
+        }
+        out.println();
+        out.println("# Benchmarks");
+        out.println();
+        out.println("Change is relative to the first version.");
+        out.println();
+        header(out, "Benchmark", null);
+        for (Map.Entry<String, Map<String, Score>> benchmark : benchmarks.entrySet()) {
+            StringBuilder row = new StringBuilder("| ").append(benchmark.getKey());
+            Score first = null;
+            for (String version : versions) {
+                Score score = benchmark.getValue().get(version);
+                row.append(" | ");
+                if (score == null) {
+                    row.append(MISSING);
+                    continue;
+                }
+                row.append(String.format("%.3f", score.score));
+                if (!Double.isNaN(score.error)) {
+                    row.append(String.format(" \u00b1 %.3f", score.error));
+                }
+                row.append(' ').append(score.unit);
+                if (first == null) {
+                    first = score;
+                } else if (first.unit.equals(score.unit) && first.score != 0) {
+                    row.append(String.format(" (%+.1f%%)", (score.score / first.score - 1) * 100));
+                }
+            }
+            out.println(row.append(" |"));
+        }
+    }
+
+    private void header(PrintStream out, String title, String lastColumn) {
+        StringBuilder header = new StringBuilder("| ").append(title);
+        StringBuilder separator = new StringBuilder("|---");
+        for (String version : versions) {
+            header.append(" | ").append(version);
+            separator.append("|---");
+        }
+        if (lastColumn != null) {
+            header.append(" | ").append(lastColumn);
+            separator.append("|---");
+        }
+        out.println(header.append(" |"));
+        out.println(separator.append("|"));
+    }
+
+    /**
+     * Primary metric of a benchmark
+     */
+    private static final class Score {
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        Score(double score, double error, String unit) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a bean holding every enum shape, so that creator and field enums share one JVM and one profile the way they do
+ * in a service with many enums. {@link EnumDeserializationBenchmark} reads one shape per fork, where every call site
+ * only ever sees one enum.
+ *
+ * <p>Stock Jackson can't read every shape in either encoding, so like in {@link EnumDeserializationBenchmark} its setup
+ * fails instead of measuring a different result.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MixedShapesBenchmark {
+
+    /**
+     * Bean with a property of every shape
+     */
+    public static class MixedHolder {
+        public SmallCreatorEnum smallCreator;
+        public SmallFieldEnum smallField;
+        public TimeZone largeCreator;
+        public FieldTimeZone largeField;
+    }
+
+    @Param({"INT", "NAME"})
+    public EnumDeserializationBenchmark.Input input;
+
+    @Param
+    public BenchmarkMappers.Implementation implementation;
+
+    private ObjectReader reader;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = BenchmarkMappers.create(implementation);
+        reader = mapper.reader(MixedHolder.class);
+        json = "{\"smallCreator\":" + EnumDeserializationBenchmark.encode(EnumShape.SMALL_CREATOR, input) +
+                ",\"smallField\":" + EnumDeserializationBenchmark.encode(EnumShape.SMALL_FIELD, input) +
+                ",\"largeCreator\":" + EnumDeserializationBenchmark.encode(EnumShape.LARGE_CREATOR, input) +
+                ",\"largeField\":" + EnumDeserializationBenchmark.encode(EnumShape.LARGE_FIELD, input) + "}";
+
+        MixedHolder value;
+        try {
+            value = reader.readValue(json);
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException(implementation + " can't read " + json, ex);
+        }
+        if (value.smallCreator != EnumShape.SMALL_CREATOR.getConstant() ||
+                value.smallField != EnumShape.SMALL_FIELD.getConstant() ||
+                value.largeCreator != EnumShape.LARGE_CREATOR.getConstant() ||
+                value.largeField != EnumShape.LARGE_FIELD.getConstant()) {
+            throw new IllegalStateException(implementation + " doesn't read " + json + " as expected");
+        }
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares converting Java objects and trees into a bean holding an enum, where the parser hands out numbers and
+ * strings that are already Java objects instead of reading text. Like in {@link EnumDeserializationBenchmark},
+ * combinations stock Jackson can't read fail during setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectSourceBenchmark {
+
+    /**
+     * What the bean is converted from
+     */
+    public enum Source {
+        /**
+         * A map, with {@code convertValue}, which goes through a token buffer
+         */
+        MAP,
+        /**
+         * A tree of JSON nodes, with {@code treeToValue}
+         */
+        TREE,
+        /**
+         * A tree holding the value as a POJO node, which the parser hands out as an embedded object
+         */
+        EMBEDDED
+    }
+
+    @Param({"SMALL_FIELD", "LARGE_CREATOR"})
+    public EnumShape shape;
+
+    @Param({"INT", "NAME"})
+    public EnumDeserializationBenchmark.Input input;
+
+    @Param
+    public Source source;
+
+    @Param
+    public BenchmarkMappers.Implementation implementation;
+
+    private ObjectMapper mapper;
+    private JavaType type;
+    private Map<String, Object> map;
+    private JsonNode tree;
+
+    @Setup
+    public void setup() {
+        mapper = BenchmarkMappers.create(implementation);
+        type = mapper.getTypeFactory().constructParametricType(Holder.class, shape.getEnumClass());
+        Object value = input == EnumDeserializationBenchmark.Input.INT ? (Object) shape.getCode() :
+                shape.getConstant().name();
+        map = Collections.singletonMap("value", value);
+        if (source == Source.EMBEDDED) {
+            ObjectNode node = mapper.createObjectNode();
+            node.putPOJO("value", value);
+            tree = node;
+        } else {
+            tree = mapper.valueToTree(map);
+        }
+
+        Object actual;
+        try {
+            actual = ((Holder<?>) deserialize()).value;
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalStateException(implementation + " can't convert " + source + " " + map + " to " + shape,
+                    ex);
+        }
+        if (!Objects.equals(shape.getConstant(), actual)) {
+            throw new IllegalStateException(implementation + " converts " + source + " " + map + " to " + actual +
+                    " instead of " + shape.getConstant());
+        }
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        if (source == Source.MAP) {
+            return mapper.convertValue(map, type);
+        }
+        return mapper.readValue(mapper.treeAsTokens(tree), type);
+    }
+}
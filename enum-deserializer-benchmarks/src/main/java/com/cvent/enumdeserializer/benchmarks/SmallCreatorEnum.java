@@ -0,0 +1,22 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+/**
+ * Small enum with a JsonCreator taking int
+ */
+public enum SmallCreatorEnum {
+    One,
+    Two,
+    Three;
+
+    @JsonCreator
+    public static SmallCreatorEnum fromInt(int value) {
+        switch (value) {
+            case 1: return One;
+            case 2: return Two;
+            case 3: return Three;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.cvent.enumdeserializer.benchmarks;
+
+/**
+ * Small enum without a JsonCreator, only matchable from int through its single int field
+ */
+public enum SmallFieldEnum {
+    One(1),
+    Two(2),
+    Three(3);
+
+    private final int value;
+
+    SmallFieldEnum(int value) {
+        this.value = value;
+    }
+}
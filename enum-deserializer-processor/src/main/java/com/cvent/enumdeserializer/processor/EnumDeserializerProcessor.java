@@ -0,0 +1,610 @@
+package com.cvent.enumdeserializer.processor;
+
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TypeCastTree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code GeneratedEnumLookup} for every enum annotated with {@code GenerateEnumDeserializer}, applying the
+ * same rules {@code EnumDeserializer} applies with reflection at runtime: a JsonCreator taking a string or an integral
+ * value first, then the single integral field of the enum, then the names of the constants. Codes are looked up with a
+ * {@code switch} on the code, names with a {@code switch} on the string.
+ *
+ * <p>Codes of the integral field are read from the source: the field has to be assigned a constructor parameter
+ * directly, and every constant has to pass a constant expression for it. When that isn't the case nothing is generated
+ * and the enum is resolved with reflection at runtime as before.
+ *
+ * <p>For GraalVM native images it also writes, once all annotated enums are processed, the reachability metadata
+ * resolving them takes ({@code reflect-config.json} and {@code resource-config.json} for the enums, their generated
+ * lookups, unknown value handlers and legacy mappings, and a {@code native-image.properties} initializing them at build
+ * time) under {@code META-INF/native-image/enum-deserializer/<project>/}, where the project is set with the
+ * {@value #NATIVE_IMAGE_PROJECT_OPTION} option and defaults to {@value #DEFAULT_NATIVE_IMAGE_PROJECT}. It lists the
+ * enums in {@code META-INF/enum-deserializer/enums.txt} too, for {@code NativeImageSupport} to pre-resolve while the
+ * image is built.
+ */
+@SupportedAnnotationTypes(EnumDeserializerProcessor.GENERATE_ENUM_DESERIALIZER)
+@SupportedOptions(EnumDeserializerProcessor.NATIVE_IMAGE_PROJECT_OPTION)
+public class EnumDeserializerProcessor extends AbstractProcessor {
+    static final String GENERATE_ENUM_DESERIALIZER = "com.cvent.enumdeserializer.GenerateEnumDeserializer";
+    static final String NATIVE_IMAGE_PROJECT_OPTION = "enumdeserializer.nativeImageProject";
+    static final String DEFAULT_NATIVE_IMAGE_PROJECT = "generated";
+    static final String NATIVE_IMAGE_PREFIX = "META-INF/native-image/enum-deserializer/";
+    static final String ENUM_INDEX = "META-INF/enum-deserializer/enums.txt";
+    private static final String GENERATED_ENUM_LOOKUP = "com.cvent.enumdeserializer.GeneratedEnumLookup";
+    private static final String ENUM_DESERIALIZER_OPTIONS = "com.cvent.enumdeserializer.EnumDeserializerOptions";
+    private static final String UNKNOWN_ENUM_VALUE_HANDLER = "com.cvent.enumdeserializer.UnknownEnumValueHandler";
+    private static final String LEGACY_MAPPINGS_PREFIX = "META-INF/enum-deserializer/";
+    private static final String CLASS_NAME_SUFFIX = "_EnumLookup";
+
+    private static final String JSON_CREATOR = "com.fasterxml.jackson.annotation.JsonCreator";
+    private static final String JSON_PROPERTY = "com.fasterxml.jackson.annotation.JsonProperty";
+    private static final String JSON_ALIAS = "com.fasterxml.jackson.annotation.JsonAlias";
+
+    /**
+     * Binary names of the annotated enums processed so far, in all rounds
+     */
+    private final Set<String> enums = new LinkedHashSet<>();
+    /**
+     * Binary names of the lookups generated so far, in all rounds
+     */
+    private final Set<String> lookups = new LinkedHashSet<>();
+    /**
+     * Binary names of unknown value handlers the processed enums are annotated with
+     */
+    private final Set<String> handlers = new LinkedHashSet<>();
+    /**
+     * Classpath locations of legacy mappings the processed enums are read with
+     */
+    private final Set<String> legacyMappings = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.ENUM) {
+                    error(element, "@GenerateEnumDeserializer can only be put on enums");
+                } else if (!isAccessibleFromPackage((TypeElement) element)) {
+                    error(element, "@GenerateEnumDeserializer can't be put on private enums");
+                } else {
+                    collectReachability((TypeElement) element);
+                    generate((TypeElement) element);
+                }
+            }
+        }
+        if (roundEnv.processingOver() && !enums.isEmpty()) {
+            writeNativeImageMetadata();
+        }
+        return true;
+    }
+
+    /**
+     * Remember what resolving an enum with reflection needs at runtime
+     */
+    private void collectReachability(TypeElement enumType) {
+        String binaryName = binaryName(enumType);
+        enums.add(binaryName);
+        AnnotationMirror options = findAnnotation(enumType, ENUM_DESERIALIZER_OPTIONS);
+        Object handler = options == null ? null : annotationValue(options, "unknownValueHandler");
+        if (handler instanceof DeclaredType) {
+            TypeElement handlerType = (TypeElement) ((DeclaredType) handler).asElement();
+            if (!handlerType.getQualifiedName().contentEquals(UNKNOWN_ENUM_VALUE_HANDLER)) {
+                handlers.add(binaryName(handlerType));
+            }
+        }
+        Object location = options == null ? null : annotationValue(options, "legacyMappings");
+        if (location instanceof String && !((String) location).isEmpty()) {
+            // mappings in files are outside the image anyway
+            if (!((String) location).startsWith("file:")) {
+                legacyMappings.add((String) location);
+            }
+        } else {
+            legacyMappings.add(LEGACY_MAPPINGS_PREFIX + binaryName + ".properties");
+            legacyMappings.add(LEGACY_MAPPINGS_PREFIX + binaryName + ".json");
+        }
+    }
+
+    private void writeNativeImageMetadata() {
+        String project = processingEnv.getOptions().getOrDefault(NATIVE_IMAGE_PROJECT_OPTION,
+                DEFAULT_NATIVE_IMAGE_PROJECT);
+        String dir = NATIVE_IMAGE_PREFIX + project + "/";
+
+        StringBuilder reflectConfig = new StringBuilder("[");
+        for (String enumName : enums) {
+            // constants and their fields for names, annotations and codes, public methods for JsonCreators
+            appendEntry(reflectConfig, enumName, "\"allDeclaredFields\": true, \"allPublicMethods\": true");
+        }
+        for (String lookup : lookups) {
+            appendEntry(reflectConfig, lookup, "\"methods\": [{\"name\": \"<init>\", \"parameterTypes\": []}]");
+        }
+        for (String handler : handlers) {
+            appendEntry(reflectConfig, handler, "\"allDeclaredConstructors\": true");
+        }
+        writeResource(dir + "reflect-config.json", reflectConfig.append("\n]\n").toString());
+
+        StringBuilder resourceConfig = new StringBuilder("{\n  \"resources\": {\n    \"includes\": [");
+        String separator = "\n";
+        for (String location : legacyMappings) {
+            resourceConfig.append(separator).append("      {\"pattern\": ")
+                    .append(quote("\\Q" + location + "\\E")).append('}');
+            separator = ",\n";
+        }
+        writeResource(dir + "resource-config.json", resourceConfig.append("\n    ]\n  }\n}\n").toString());
+
+        Set<String> buildTimeClasses = new LinkedHashSet<>(enums);
+        buildTimeClasses.addAll(lookups);
+        writeResource(dir + "native-image.properties", "Args = --initialize-at-build-time=" +
+                String.join(",", buildTimeClasses) + "\n");
+
+        writeResource(ENUM_INDEX, String.join("\n", enums) + "\n");
+    }
+
+    private static void appendEntry(StringBuilder config, String className, String members) {
+        config.append(config.length() > 1 ? ",\n" : "\n")
+                .append("  {\"name\": ").append(quote(className)).append(", ").append(members).append('}');
+    }
+
+    private void writeResource(String location, String content) {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (Writer writer = resource.openWriter()) {
+                writer.write(content);
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "can't write " + location + ": " +
+                    ex.getMessage());
+        }
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void generate(TypeElement enumType) {
+        List<VariableElement> constants = enumType.getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(VariableElement.class::cast)
+                .collect(Collectors.toList());
+
+        ExecutableElement stringCreator = null;
+        ExecutableElement intCreator = null;
+        TypeMirror stringType = processingEnv.getElementUtils().getTypeElement("java.lang.String").asType();
+        for (ExecutableElement method : ElementFilter.methodsIn(enumType.getEnclosedElements())) {
+            if (!isCreator(method, enumType)) {
+                continue;
+            }
+            TypeMirror param = method.getParameters().get(0).asType();
+            if (stringCreator == null && processingEnv.getTypeUtils().isAssignable(stringType, param)) {
+                stringCreator = method;
+            }
+            if (intCreator == null && isIntegral(param)) {
+                intCreator = method;
+            }
+        }
+
+        Map<VariableElement, Long> codes = null;
+        if (intCreator == null) {
+            List<VariableElement> integralFields = ElementFilter.fieldsIn(enumType.getEnclosedElements()).stream()
+                    .filter(field -> field.getKind() == ElementKind.FIELD && isIntegral(field.asType()))
+                    .collect(Collectors.toList());
+            if (integralFields.size() == 1) {
+                codes = readCodes(enumType, integralFields.get(0), constants);
+                if (codes == null) {
+                    warning(enumType, "can't determine the " + integralFields.get(0).getSimpleName() +
+                            " of every constant at compile time, not generating a lookup, the enum will be " +
+                            "resolved with reflection instead");
+                    return;
+                }
+                if (codes.values().stream().distinct().count() != codes.size()) {
+                    error(enumType, "enum constants share the same " + integralFields.get(0).getSimpleName());
+                    return;
+                }
+            }
+        }
+
+        Map<String, VariableElement> names = stringCreator == null ? collectNames(enumType, constants) : null;
+        if (stringCreator == null && names == null) {
+            return;
+        }
+        write(enumType, intCreator, codes, stringCreator, names);
+    }
+
+    private boolean isCreator(ExecutableElement method, TypeElement enumType) {
+        return hasAnnotation(method, JSON_CREATOR) &&
+                method.getModifiers().contains(Modifier.STATIC) &&
+                method.getModifiers().contains(Modifier.PUBLIC) &&
+                method.getParameters().size() == 1 &&
+                processingEnv.getTypeUtils().isAssignable(method.getReturnType(), enumType.asType());
+    }
+
+    private static boolean isIntegral(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        return kind == TypeKind.LONG || kind == TypeKind.INT || kind == TypeKind.SHORT;
+    }
+
+    /**
+     * Names each constant can be matched by: renames and aliases first, which have to be unambiguous, then the names of
+     * the constants themselves unless a rename or alias already uses them
+     */
+    private Map<String, VariableElement> collectNames(TypeElement enumType, List<VariableElement> constants) {
+        Map<String, VariableElement> names = new LinkedHashMap<>();
+        for (VariableElement constant : constants) {
+            List<String> explicitNames = new ArrayList<>();
+            String rename = (String) annotationValue(constant, JSON_PROPERTY);
+            if (rename != null && !rename.isEmpty()) {
+                explicitNames.add(rename);
+            }
+            Object aliases = annotationValue(constant, JSON_ALIAS);
+            if (aliases instanceof List) {
+                for (Object alias : (List<?>) aliases) {
+                    explicitNames.add((String) ((AnnotationValue) alias).getValue());
+                }
+            }
+            for (String name : explicitNames) {
+                VariableElement previous = names.putIfAbsent(name, constant);
+                if (previous != null && previous != constant) {
+                    error(enumType, "enum constants " + previous + " and " + constant + " share the same name " + name);
+                    return null;
+                }
+            }
+        }
+        for (VariableElement constant : constants) {
+            names.putIfAbsent(constant.getSimpleName().toString(), constant);
+        }
+        return names;
+    }
+
+    private Map<VariableElement, Long> readCodes(TypeElement enumType, VariableElement field,
+                                                 List<VariableElement> constants) {
+        Trees trees;
+        try {
+            trees = Trees.instance(processingEnv);
+        } catch (IllegalArgumentException ex) {
+            // not running in javac, source trees aren't available
+            return null;
+        }
+        CompilationUnitTree unit = trees.getPath(enumType).getCompilationUnit();
+        Map<VariableElement, Long> codes = new LinkedHashMap<>();
+
+        VariableTree fieldTree = (VariableTree) trees.getTree(field);
+        if (fieldTree != null && fieldTree.getInitializer() != null) {
+            Long code = evaluate(trees, unit, fieldTree.getInitializer());
+            for (VariableElement constant : constants) {
+                codes.put(constant, code);
+            }
+            return code == null ? null : codes;
+        }
+
+        for (VariableElement constant : constants) {
+            Tree constantTree = trees.getTree(constant);
+            if (!(constantTree instanceof VariableTree) ||
+                    !(((VariableTree) constantTree).getInitializer() instanceof NewClassTree)) {
+                return null;
+            }
+            List<? extends ExpressionTree> args =
+                    ((NewClassTree) ((VariableTree) constantTree).getInitializer()).getArguments();
+            List<ExecutableElement> constructors = ElementFilter.constructorsIn(enumType.getEnclosedElements())
+                    .stream()
+                    .filter(constructor -> constructor.getParameters().size() == args.size())
+                    .collect(Collectors.toList());
+            if (constructors.size() != 1) {
+                return null;
+            }
+            int param = assignedParameter(trees, constructors.get(0), field);
+            Long code = param < 0 ? null : evaluate(trees, unit, args.get(param));
+            if (code == null) {
+                return null;
+            }
+            codes.put(constant, code);
+        }
+        return codes;
+    }
+
+    /**
+     * Index of the constructor parameter assigned to a field as a statement of its own, -1 if there isn't one
+     */
+    private static int assignedParameter(Trees trees, ExecutableElement constructor, VariableElement field) {
+        MethodTree constructorTree = trees.getTree(constructor);
+        if (constructorTree == null || constructorTree.getBody() == null) {
+            return -1;
+        }
+        for (StatementTree statement : constructorTree.getBody().getStatements()) {
+            if (!(statement instanceof ExpressionStatementTree) ||
+                    !(((ExpressionStatementTree) statement).getExpression() instanceof AssignmentTree)) {
+                continue;
+            }
+            AssignmentTree assignment = (AssignmentTree) ((ExpressionStatementTree) statement).getExpression();
+            if (!isField(assignment.getVariable(), field)) {
+                continue;
+            }
+            ExpressionTree value = unwrap(assignment.getExpression());
+            if (value instanceof IdentifierTree) {
+                List<? extends VariableElement> params = constructor.getParameters();
+                for (int i = 0; i < params.size(); i++) {
+                    if (params.get(i).getSimpleName().contentEquals(((IdentifierTree) value).getName())) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+        return -1;
+    }
+
+    private static boolean isField(ExpressionTree variable, VariableElement field) {
+        if (variable instanceof IdentifierTree) {
+            return ((IdentifierTree) variable).getName().contentEquals(field.getSimpleName());
+        }
+        if (variable instanceof MemberSelectTree) {
+            MemberSelectTree select = (MemberSelectTree) variable;
+            return select.getExpression() instanceof IdentifierTree &&
+                    ((IdentifierTree) select.getExpression()).getName().contentEquals("this") &&
+                    select.getIdentifier().contentEquals(field.getSimpleName());
+        }
+        return false;
+    }
+
+    private static ExpressionTree unwrap(ExpressionTree expression) {
+        while (true) {
+            if (expression instanceof ParenthesizedTree) {
+                expression = ((ParenthesizedTree) expression).getExpression();
+            } else if (expression instanceof TypeCastTree) {
+                expression = ((TypeCastTree) expression).getExpression();
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    /**
+     * Value of an integral constant expression: a literal, optionally negated or cast, or a reference to a constant
+     */
+    private static Long evaluate(Trees trees, CompilationUnitTree unit, ExpressionTree expression) {
+        expression = unwrap(expression);
+        if (expression instanceof LiteralTree) {
+            return toLong(((LiteralTree) expression).getValue());
+        }
+        if (expression instanceof UnaryTree) {
+            Long operand = evaluate(trees, unit, ((UnaryTree) expression).getExpression());
+            if (operand == null) {
+                return null;
+            } else if (expression.getKind() == Tree.Kind.UNARY_MINUS) {
+                return -operand;
+            } else if (expression.getKind() == Tree.Kind.UNARY_PLUS) {
+                return operand;
+            }
+            return null;
+        }
+        if (expression instanceof IdentifierTree || expression instanceof MemberSelectTree) {
+            TreePath path = TreePath.getPath(unit, expression);
+            Element element = path == null ? null : trees.getElement(path);
+            if (element instanceof VariableElement) {
+                return toLong(((VariableElement) element).getConstantValue());
+            }
+        }
+        return null;
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number && !(value instanceof Float || value instanceof Double)) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Character) {
+            return (long) (Character) value;
+        }
+        return null;
+    }
+
+    private void write(TypeElement enumType, ExecutableElement intCreator, Map<VariableElement, Long> codes,
+                       ExecutableElement stringCreator, Map<String, VariableElement> names) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(enumType).getQualifiedName().toString();
+        String simpleName = generatedSimpleName(enumType);
+        String enumName = enumType.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * Lookup for {@link ").append(enumName).append("} generated by ")
+                .append(getClass().getSimpleName()).append(", don't edit\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" implements ")
+                .append(GENERATED_ENUM_LOOKUP).append('<').append(enumName).append("> {\n\n");
+
+        source.append("    @Override\n")
+                .append("    public boolean hasCodes() {\n")
+                .append("        return ").append(intCreator != null || codes != null).append(";\n")
+                .append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public ").append(enumName).append(" fromCode(long code) {\n");
+        if (intCreator != null) {
+            TypeKind param = intCreator.getParameters().get(0).asType().getKind();
+            String cast = param == TypeKind.INT ? "(int) " : param == TypeKind.SHORT ? "(short) " : "";
+            source.append("        return ").append(enumName).append('.').append(intCreator.getSimpleName())
+                    .append('(').append(cast).append("code);\n");
+        } else if (codes != null) {
+            writeCodeSwitch(source, enumName, codes);
+        } else {
+            source.append("        throw new IllegalArgumentException(")
+                    .append(quote("couldn't figure out any deserialization method from int for class " + enumName))
+                    .append(");\n");
+        }
+        source.append("    }\n\n");
+
+        source.append("    @Override\n")
+                .append("    public ").append(enumName).append(" fromName(String name) {\n");
+        if (stringCreator != null) {
+            source.append("        return ").append(enumName).append('.').append(stringCreator.getSimpleName())
+                    .append("(name);\n");
+        } else {
+            source.append("        switch (name) {\n");
+            for (Map.Entry<String, VariableElement> name : names.entrySet()) {
+                source.append("            case ").append(quote(name.getKey())).append(":\n")
+                        .append("                return ").append(enumName).append('.')
+                        .append(name.getValue().getSimpleName()).append(";\n");
+            }
+            source.append("            default:\n")
+                    .append("                return null;\n")
+                    .append("        }\n");
+        }
+        source.append("    }\n")
+                .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, enumType).openWriter()) {
+            writer.write(source.toString());
+            lookups.add(qualifiedName);
+        } catch (IOException ex) {
+            error(enumType, "can't write " + qualifiedName + ": " + ex.getMessage());
+        }
+    }
+
+    private static void writeCodeSwitch(StringBuilder source, String enumName, Map<VariableElement, Long> codes) {
+        boolean fitsInt = codes.values().stream().allMatch(code -> code == (int) (long) code);
+        if (fitsInt) {
+            // a switch on int compiles to a tableswitch or lookupswitch
+            source.append("        if (code != (int) code) {\n")
+                    .append("            return null;\n")
+                    .append("        }\n")
+                    .append("        switch ((int) code) {\n");
+            for (Map.Entry<VariableElement, Long> code : codes.entrySet()) {
+                source.append("            case ").append(code.getValue()).append(":\n")
+                        .append("                return ").append(enumName).append('.')
+                        .append(code.getKey().getSimpleName()).append(";\n");
+            }
+            source.append("            default:\n")
+                    .append("                return null;\n")
+                    .append("        }\n");
+        } else {
+            for (Map.Entry<VariableElement, Long> code : codes.entrySet()) {
+                source.append("        if (code == ").append(code.getValue()).append("L) {\n")
+                        .append("            return ").append(enumName).append('.')
+                        .append(code.getKey().getSimpleName()).append(";\n")
+                        .append("        }\n");
+            }
+            source.append("        return null;\n");
+        }
+    }
+
+    private static String generatedSimpleName(TypeElement enumType) {
+        StringBuilder name = new StringBuilder(enumType.getSimpleName());
+        for (Element outer = enumType.getEnclosingElement(); outer instanceof TypeElement;
+             outer = outer.getEnclosingElement()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        return name + CLASS_NAME_SUFFIX;
+    }
+
+    private static boolean isAccessibleFromPackage(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        return findAnnotation(element, annotationName) != null;
+    }
+
+    private static AnnotationMirror findAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                    .contentEquals(annotationName)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    private static Object annotationValue(Element element, String annotationName) {
+        AnnotationMirror annotation = findAnnotation(element, annotationName);
+        return annotation == null ? null : annotationValue(annotation, "value");
+    }
+
+    /**
+     * Value explicitly set for an annotation member, null if it has its default value
+     */
+    private static Object annotationValue(AnnotationMirror annotation, String member) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value :
+                annotation.getElementValues().entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals(member)) {
+                return value.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void warning(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message, element);
+    }
+}
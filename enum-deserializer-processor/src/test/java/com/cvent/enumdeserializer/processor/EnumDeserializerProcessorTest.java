@@ -0,0 +1,127 @@
+package com.cvent.enumdeserializer.processor;
+
+import com.cvent.enumdeserializer.GeneratedEnumLookup;
+import com.cvent.enumdeserializer.NativeImageSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A unit test for the lookups generated by {@link EnumDeserializerProcessor}
+ */
+public class EnumDeserializerProcessorTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testFieldCodes() {
+        GeneratedEnumLookup<GeneratedFieldEnum> lookup = new GeneratedFieldEnum_EnumLookup();
+        assertTrue(lookup.hasCodes());
+        assertEquals(GeneratedFieldEnum.One, lookup.fromCode(1));
+        assertEquals(GeneratedFieldEnum.Two, lookup.fromCode(20));
+        assertEquals(GeneratedFieldEnum.Three, lookup.fromCode(-300));
+        assertEquals(GeneratedFieldEnum.Big, lookup.fromCode(1_000_000));
+        assertNull(lookup.fromCode(2));
+        assertNull(lookup.fromCode(1L + Integer.MAX_VALUE + Integer.MAX_VALUE + 2));
+    }
+
+    @Test
+    public void testNames() {
+        GeneratedEnumLookup<GeneratedFieldEnum> lookup = new GeneratedFieldEnum_EnumLookup();
+        assertEquals(GeneratedFieldEnum.One, lookup.fromName("uno"));
+        assertEquals(GeneratedFieldEnum.One, lookup.fromName("One"));
+        assertEquals(GeneratedFieldEnum.Two, lookup.fromName("dos"));
+        assertEquals(GeneratedFieldEnum.Two, lookup.fromName("deux"));
+        assertEquals(GeneratedFieldEnum.Two, lookup.fromName("Two"));
+        assertNull(lookup.fromName("two"));
+    }
+
+    @Test
+    public void testCreators() {
+        GeneratedEnumLookup<GeneratedCreatorEnum> lookup = new GeneratedCreatorEnum_EnumLookup();
+        assertTrue(lookup.hasCodes());
+        assertEquals(GeneratedCreatorEnum.Two, lookup.fromCode(2));
+        assertEquals(GeneratedCreatorEnum.One, lookup.fromName("first"));
+        assertNull(lookup.fromName("One"));
+    }
+
+    @Test
+    public void testNestedWithoutCodes() {
+        GeneratedEnumLookup<Outer.NestedNameEnum> lookup = new Outer_NestedNameEnum_EnumLookup();
+        assertFalse(lookup.hasCodes());
+        assertEquals(Outer.NestedNameEnum.Green, lookup.fromName("Green"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFromCodeWithoutCodes() {
+        new Outer_NestedNameEnum_EnumLookup().fromCode(1);
+    }
+
+    @Test
+    public void testLongCodes() {
+        GeneratedEnumLookup<Outer.NestedLongEnum> lookup = new Outer_NestedLongEnum_EnumLookup();
+        assertEquals(Outer.NestedLongEnum.Huge, lookup.fromCode(10_000_000_000L));
+        assertEquals(Outer.NestedLongEnum.Small, lookup.fromCode(1));
+        assertNull(lookup.fromCode(2));
+    }
+
+    @Test
+    public void testDeserializeThroughGeneratedLookup() throws Exception {
+        assertEquals(GeneratedFieldEnum.Three, OBJECT_MAPPER.readValue("-300", GeneratedFieldEnum.class));
+        assertEquals(GeneratedFieldEnum.Three, OBJECT_MAPPER.readValue("\"-300\"", GeneratedFieldEnum.class));
+        assertEquals(GeneratedFieldEnum.Two, OBJECT_MAPPER.readValue("\"deux\"", GeneratedFieldEnum.class));
+        assertEquals(GeneratedCreatorEnum.One, OBJECT_MAPPER.readValue("\"first\"", GeneratedCreatorEnum.class));
+        assertEquals(Outer.NestedLongEnum.Huge, OBJECT_MAPPER.readValue("10000000000", Outer.NestedLongEnum.class));
+    }
+
+    @Test
+    public void testReflectConfig() throws Exception {
+        JsonNode config = OBJECT_MAPPER.readTree(getClass().getClassLoader().getResource(
+                EnumDeserializerProcessor.NATIVE_IMAGE_PREFIX + EnumDeserializerProcessor.DEFAULT_NATIVE_IMAGE_PROJECT +
+                        "/reflect-config.json"));
+        List<String> names = new ArrayList<>();
+        for (JsonNode entry : config) {
+            names.add(entry.get("name").asText());
+        }
+        assertTrue(names.containsAll(Arrays.asList(GeneratedFieldEnum.class.getName(),
+                Outer.NestedLongEnum.class.getName(), GeneratedFieldEnum_EnumLookup.class.getName(),
+                Outer_NestedNameEnum_EnumLookup.class.getName())));
+        assertTrue(config.get(0).get("allDeclaredFields").asBoolean());
+    }
+
+    @Test
+    public void testResourceConfigAndBuildTimeInitialization() throws Exception {
+        String dir = EnumDeserializerProcessor.NATIVE_IMAGE_PREFIX +
+                EnumDeserializerProcessor.DEFAULT_NATIVE_IMAGE_PROJECT + "/";
+        JsonNode resources = OBJECT_MAPPER.readTree(getClass().getClassLoader().getResource(
+                dir + "resource-config.json"));
+        assertEquals("\\QMETA-INF/enum-deserializer/" + GeneratedFieldEnum.class.getName() + ".properties\\E",
+                resources.get("resources").get("includes").get(0).get("pattern").asText());
+
+        Properties properties = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(dir + "native-image.properties")) {
+            properties.load(in);
+        }
+        assertTrue(properties.getProperty("Args").contains(Outer.NestedNameEnum.class.getName() + ","));
+    }
+
+    @Test
+    public void testPreResolveIndexedEnums() {
+        List<Class<? extends Enum<?>>> preResolved =
+                NativeImageSupport.preResolveIndexed(getClass().getClassLoader());
+        assertEquals(new HashSet<>(Arrays.asList(GeneratedFieldEnum.class, GeneratedCreatorEnum.class,
+                Outer.NestedNameEnum.class, Outer.NestedLongEnum.class)), new HashSet<>(preResolved));
+    }
+}
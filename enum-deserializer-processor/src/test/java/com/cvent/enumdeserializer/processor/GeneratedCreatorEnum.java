@@ -0,0 +1,26 @@
+package com.cvent.enumdeserializer.processor;
+
+import com.cvent.enumdeserializer.EnumDeserializer;
+import com.cvent.enumdeserializer.GenerateEnumDeserializer;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Test enum with JsonCreators taking a long and a string
+ */
+@GenerateEnumDeserializer
+@JsonDeserialize(using = EnumDeserializer.class)
+public enum GeneratedCreatorEnum {
+    One,
+    Two;
+
+    @JsonCreator
+    public static GeneratedCreatorEnum fromLong(long value) {
+        return value == 1 ? One : value == 2 ? Two : null;
+    }
+
+    @JsonCreator
+    public static GeneratedCreatorEnum fromString(String value) {
+        return "first".equals(value) ? One : "second".equals(value) ? Two : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.cvent.enumdeserializer.processor;
+
+import com.cvent.enumdeserializer.EnumDeserializer;
+import com.cvent.enumdeserializer.GenerateEnumDeserializer;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Test enum with sparse codes in a field, renames and aliases
+ */
+@GenerateEnumDeserializer
+@JsonDeserialize(using = EnumDeserializer.class)
+public enum GeneratedFieldEnum {
+    @JsonProperty("uno")
+    One(1),
+    @JsonAlias({"dos", "deux"})
+    Two((short) 20),
+    Three(-(300)),
+    Big(Constants.BIG);
+
+    /**
+     * Constant referenced by a constant
+     */
+    static final class Constants {
+        static final int BIG = 1_000_000;
+    }
+
+    private final int value;
+
+    GeneratedFieldEnum(int value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cvent.enumdeserializer.processor;
+
+import com.cvent.enumdeserializer.EnumDeserializer;
+import com.cvent.enumdeserializer.GenerateEnumDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Holder of nested test enums
+ */
+public class Outer {
+
+    /**
+     * Test enum without codes, nested in a class
+     */
+    @GenerateEnumDeserializer
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum NestedNameEnum {
+        Red,
+        Green
+    }
+
+    /**
+     * Test enum whose codes don't fit in an int
+     */
+    @GenerateEnumDeserializer
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum NestedLongEnum {
+        Small(1L),
+        Huge(10_000_000_000L);
+
+        private final long code;
+
+        NestedLongEnum(long code) {
+            this.code = code;
+        }
+    }
+}
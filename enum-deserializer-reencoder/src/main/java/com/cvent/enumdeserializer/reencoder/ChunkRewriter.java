@@ -0,0 +1,137 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+
+/**
+ * Re-encodes one chunk of a file, a run of whole lines, by streaming its tokens from a parser to a generator and
+ * rewriting the values of enum fields on the way. Numbers are copied as the text they were read from, so no precision
+ * is lost; whitespace between tokens isn't kept, and every record is written on a line of its own.
+ */
+final class ChunkRewriter implements Callable<ChunkRewriter.Result> {
+    private static final SerializedString LINE_SEPARATOR = new SerializedString("\n");
+
+    private final ByteBuffer chunk;
+    private final long offset;
+    private final JsonFactory factory;
+    private final EnumFields fields;
+
+    /**
+     * @param chunk the lines, usually mapped from the file
+     * @param offset position of the chunk in the file, for error messages
+     * @param factory the factory to read and write with
+     * @param fields the enum fields to rewrite
+     */
+    ChunkRewriter(ByteBuffer chunk, long offset, JsonFactory factory, EnumFields fields) {
+        this.chunk = chunk;
+        this.offset = offset;
+        this.factory = factory;
+        this.fields = fields;
+    }
+
+    @Override
+    public Result call() throws IOException {
+        int length = chunk.remaining();
+        // names are usually longer than the codes they replace
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length + length / 4);
+        long records = 0;
+        try (JsonParser jp = factory.createParser(new ByteBufferInputStream(chunk.duplicate()));
+             JsonGenerator gen = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.setRootValueSeparator(LINE_SEPARATOR);
+            JsonToken token;
+            while ((token = jp.nextToken()) != null) {
+                EnumField<?> field = token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_STRING ?
+                        fields.find(jp.getParsingContext()) : null;
+                if (field != null) {
+                    field.rewrite(jp, gen);
+                } else {
+                    copy(jp, gen);
+                }
+                if (jp.getParsingContext().inRoot()) {
+                    records++;
+                }
+            }
+        } catch (IOException ex) {
+            throw new IOException("can't re-encode the chunk at byte " + offset + ": " + ex.getMessage(), ex);
+        }
+        if (records > 0) {
+            out.write('\n');
+        }
+        return new Result(out.toByteArray(), length, records);
+    }
+
+    /**
+     * Copy the parser's current token unchanged, numbers as the text they were read from
+     */
+    static void copy(JsonParser jp, JsonGenerator gen) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            gen.writeNumber(jp.getText());
+        } else {
+            gen.copyCurrentEvent(jp);
+        }
+    }
+
+    /**
+     * A re-encoded chunk
+     */
+    static final class Result {
+        private final byte[] output;
+        private final int inputBytes;
+        private final long records;
+
+        Result(byte[] output, int inputBytes, long records) {
+            this.output = output;
+            this.inputBytes = inputBytes;
+            this.records = records;
+        }
+
+        byte[] getOutput() {
+            return output;
+        }
+
+        int getInputBytes() {
+            return inputBytes;
+        }
+
+        long getRecords() {
+            return records;
+        }
+    }
+
+    /**
+     * Reads a buffer, mapped buffers having no array a parser could read directly
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(len, buffer.remaining());
+            buffer.get(b, off, read);
+            return read;
+        }
+    }
+}
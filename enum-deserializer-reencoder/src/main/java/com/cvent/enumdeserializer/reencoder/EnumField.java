@@ -0,0 +1,110 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import com.cvent.enumdeserializer.EnumColumnCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An enum field being re-encoded, and what happened to its values so far. Values are resolved by the
+ * {@link EnumColumnCodec} of the enum, so they follow the rules of the deserializer: the int creator, the single integral
+ * field, then names. Counters are shared by every chunk.
+ *
+ * @param <T> the enum type
+ */
+final class EnumField<T extends Enum<?>> {
+    /**
+     * Number of distinct unknown values remembered per field, so that a field full of garbage doesn't take the heap
+     */
+    static final int MAX_UNKNOWN_SAMPLES = 20;
+
+    private final String path;
+    private final Class<T> enumClass;
+    private final EnumColumnCodec<T> codec;
+    /**
+     * Whether the name of each constant by ordinal reads back as that constant, a string creator may not accept it
+     */
+    private final boolean[] readsBack;
+
+    private final LongAdder rewritten = new LongAdder();
+    private final LongAdder unchanged = new LongAdder();
+    private final LongAdder kept = new LongAdder();
+    private final LongAdder unknown = new LongAdder();
+    private final Map<String, LongAdder> unknownSamples = new ConcurrentHashMap<>();
+
+    /**
+     * @param path dotted path of the field
+     * @param enumClass the enum
+     * @param factory factory to check with that names read back
+     * @throws IllegalArgumentException if the deserializer can't handle the enum
+     */
+    EnumField(String path, Class<T> enumClass, JsonFactory factory) throws IOException {
+        this.path = path;
+        this.enumClass = enumClass;
+        this.codec = EnumColumnCodec.forClass(enumClass);
+        this.readsBack = new boolean[enumClass.getEnumConstants().length];
+        for (int i = 0; i < readsBack.length; i++) {
+            try (JsonParser jp = factory.createParser("\"" + new String(codec.getName(i).asQuotedChars()) + "\"")) {
+                jp.nextToken();
+                readsBack[i] = codec.readOrdinal(jp) == i;
+            }
+        }
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Write the name of the constant the parser's value resolves to, or copy the value if it doesn't resolve to one
+     * whose name reads back
+     * @param jp parser on a string or int
+     * @param gen the generator
+     */
+    void rewrite(JsonParser jp, JsonGenerator gen) throws IOException {
+        JsonToken token = jp.getCurrentToken();
+        // codes beyond a long can't be codes of any constant, and reading them as one fails
+        int ordinal = token == JsonToken.VALUE_NUMBER_INT && jp.getNumberType() == JsonParser.NumberType.BIG_INTEGER ?
+                EnumColumnCodec.MISSING : codec.readOrdinal(jp);
+        if (ordinal == EnumColumnCodec.MISSING) {
+            unknown.increment();
+            String text = jp.getText();
+            if (unknownSamples.size() < MAX_UNKNOWN_SAMPLES || unknownSamples.containsKey(text)) {
+                unknownSamples.computeIfAbsent(text, k -> new LongAdder()).increment();
+            }
+            ChunkRewriter.copy(jp, gen);
+        } else if (!readsBack[ordinal]) {
+            kept.increment();
+            ChunkRewriter.copy(jp, gen);
+        } else {
+            SerializableString name = codec.getName(ordinal);
+            if (token == JsonToken.VALUE_STRING && jp.getText().equals(name.getValue())) {
+                unchanged.increment();
+            } else {
+                rewritten.increment();
+            }
+            gen.writeString(name);
+        }
+    }
+
+    long getUnknown() {
+        return unknown.sum();
+    }
+
+    ReencodeReport.FieldReport report() {
+        Map<String, Long> samples = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> sample : unknownSamples.entrySet()) {
+            samples.put(sample.getKey(), sample.getValue().sum());
+        }
+        return new ReencodeReport.FieldReport(path, enumClass, rewritten.sum(), unchanged.sum(), kept.sum(),
+                unknown.sum(), samples);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import com.fasterxml.jackson.core.JsonStreamContext;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The enum fields to re-encode by dotted path, e.g. {@code order.status}. Arrays don't add a level, so elements of an
+ * array held by {@code order.tags} have the path {@code order.tags}.
+ */
+final class EnumFields {
+    private final Map<String, EnumField<?>> byPath = new LinkedHashMap<>();
+    /**
+     * Last segment of every path, checked before building the full path of a value
+     */
+    private final Set<String> leaves = new HashSet<>();
+
+    void add(EnumField<?> field) {
+        byPath.put(field.getPath(), field);
+        leaves.add(field.getPath().substring(field.getPath().lastIndexOf('.') + 1));
+    }
+
+    Iterable<EnumField<?>> all() {
+        return byPath.values();
+    }
+
+    /**
+     * @param context parsing context of a value
+     * @return the field the value belongs to, null if it isn't an enum field
+     */
+    EnumField<?> find(JsonStreamContext context) {
+        JsonStreamContext named = context;
+        while (named != null && !named.inObject()) {
+            named = named.getParent();
+        }
+        if (named == null || named.getCurrentName() == null || !leaves.contains(named.getCurrentName())) {
+            return null;
+        }
+        StringBuilder path = new StringBuilder(named.getCurrentName());
+        for (JsonStreamContext parent = named.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent.inObject()) {
+                path.insert(0, '.').insert(0, parent.getCurrentName());
+            }
+        }
+        return byPath.get(path.toString());
+    }
+}
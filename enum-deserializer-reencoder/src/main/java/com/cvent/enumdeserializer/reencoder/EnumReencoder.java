@@ -0,0 +1,295 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import com.cvent.enumdeserializer.EnumDeserializer;
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rewrites newline-delimited JSON so that enum fields hold the names of their constants instead of codes or numeric
+ * strings, resolving every value with the same rules and tables as {@link EnumDeserializer}, without binding any
+ * objects.
+ *
+ * <p>The input file is memory-mapped in chunks cut at line boundaries, which a fork-join pool re-encodes in parallel.
+ * Chunks are written out in order as they complete, and at most two per thread are held at a time, so memory stays
+ * bounded by the chunk size however large the file. Values that are null or don't match any constant are copied
+ * unchanged and counted in the {@link ReencodeReport}, as are values of constants whose name a string creator wouldn't
+ * read back. Other values are copied by value: numbers keep their text, but whitespace between tokens isn't kept and
+ * strings are re-escaped.
+ *
+ * <p>From the command line, with the jar holding the enums on the classpath:
+ * <pre>
+ * java -cp reencoder.jar:app.jar com.cvent.enumdeserializer.reencoder.EnumReencoder \
+ *     --field order.status=com.example.OrderStatus --field order.lines.unit=com.example.Unit in.ndjson out.ndjson
+ * </pre>
+ */
+public final class EnumReencoder {
+    static final int DEFAULT_CHUNK_SIZE = 32 << 20;
+    static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = 10_000;
+
+    private static final String USAGE = "usage: EnumReencoder [--threads <n>] [--chunk-size <bytes>] [--quiet] " +
+            "--field <path>=<enum class>... <input> <output>";
+
+    private final Map<String, Class<? extends Enum<?>>> fields;
+    private final int threads;
+    private final int chunkSize;
+    private final PrintStream progress;
+    private final long progressIntervalMillis;
+
+    /**
+     * A re-encoder without any fields, using a thread per processor and not reporting progress
+     */
+    public EnumReencoder() {
+        this(Collections.<String, Class<? extends Enum<?>>>emptyMap(), Runtime.getRuntime().availableProcessors(),
+                DEFAULT_CHUNK_SIZE, null, DEFAULT_PROGRESS_INTERVAL_MILLIS);
+    }
+
+    private EnumReencoder(Map<String, Class<? extends Enum<?>>> fields, int threads, int chunkSize,
+                          PrintStream progress, long progressIntervalMillis) {
+        this.fields = fields;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.progress = progress;
+        this.progressIntervalMillis = progressIntervalMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        EnumReencoder reencoder = new EnumReencoder().withProgress(System.err, DEFAULT_PROGRESS_INTERVAL_MILLIS);
+        List<String> files = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--quiet".equals(arg)) {
+                    reencoder = reencoder.withProgress(null, DEFAULT_PROGRESS_INTERVAL_MILLIS);
+                } else if (arg.startsWith("--") && i + 1 < args.length) {
+                    reencoder = reencoder.withOption(arg, args[++i]);
+                } else if (arg.startsWith("--")) {
+                    throw new IllegalArgumentException(arg + " needs a value");
+                } else {
+                    files.add(arg);
+                }
+            }
+            if (files.size() != 2 || reencoder.fields.isEmpty()) {
+                throw new IllegalArgumentException("expected an input, an output and at least one --field");
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.out.println(reencoder.reencode(Paths.get(files.get(0)), Paths.get(files.get(1))));
+    }
+
+    private EnumReencoder withOption(String option, String value) {
+        switch (option) {
+            case "--field":
+                int separator = value.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("expected <path>=<enum class>, got " + value);
+                }
+                Class<?> enumClass;
+                try {
+                    enumClass = Class.forName(value.substring(separator + 1), false,
+                            Thread.currentThread().getContextClassLoader());
+                } catch (ClassNotFoundException ex) {
+                    throw new IllegalArgumentException(value.substring(separator + 1) + " isn't on the classpath", ex);
+                }
+                if (!enumClass.isEnum()) {
+                    throw new IllegalArgumentException(enumClass.getName() + " isn't an enum");
+                }
+                return withField(value.substring(0, separator), (Class) enumClass);
+            case "--threads":
+                return withThreads(Integer.parseInt(value));
+            case "--chunk-size":
+                return withChunkSize(Integer.parseInt(value));
+            default:
+                throw new IllegalArgumentException("unknown option " + option);
+        }
+    }
+
+    /**
+     * @param path dotted path of the field from the root of each record, e.g. {@code order.status}; arrays don't add a
+     * level, so the path of enums in an array is the path of the array
+     * @param enumClass the enum the field holds
+     * @return a copy of this re-encoder that also rewrites the field
+     */
+    public EnumReencoder withField(String path, Class<? extends Enum<?>> enumClass) {
+        Map<String, Class<? extends Enum<?>>> copy = new LinkedHashMap<>(fields);
+        copy.put(path, enumClass);
+        return new EnumReencoder(copy, threads, chunkSize, progress, progressIntervalMillis);
+    }
+
+    /**
+     * @param threads number of chunks re-encoded in parallel
+     * @return a copy of this re-encoder using that many threads
+     */
+    public EnumReencoder withThreads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("number of threads has to be positive, not " + threads);
+        }
+        return new EnumReencoder(fields, threads, chunkSize, progress, progressIntervalMillis);
+    }
+
+    /**
+     * @param chunkSize bytes per chunk, chunks extend to the end of the line they would end in
+     * @return a copy of this re-encoder cutting files into chunks of that size
+     */
+    public EnumReencoder withChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunk size has to be positive, not " + chunkSize);
+        }
+        return new EnumReencoder(fields, threads, chunkSize, progress, progressIntervalMillis);
+    }
+
+    /**
+     * @param progress where to print progress, null not to print it
+     * @param intervalMillis how often to print it
+     * @return a copy of this re-encoder reporting progress
+     */
+    public EnumReencoder withProgress(PrintStream progress, long intervalMillis) {
+        return new EnumReencoder(fields, threads, chunkSize, progress, intervalMillis);
+    }
+
+    /**
+     * Re-encode a file
+     * @param input the file to read
+     * @param output the file to write, replaced if it exists
+     * @return what was rewritten
+     * @throws IOException if a file can't be read or written, or the input isn't valid JSON
+     * @throws IllegalArgumentException if the deserializer can't handle one of the enums
+     */
+    public ReencodeReport reencode(Path input, Path output) throws IOException {
+        long start = System.currentTimeMillis();
+        JsonFactory factory = new JsonFactory();
+        EnumFields enumFields = new EnumFields();
+        for (Map.Entry<String, Class<? extends Enum<?>>> field : fields.entrySet()) {
+            enumFields.add(new EnumField<>(field.getKey(), (Class) field.getValue(), factory));
+        }
+        AtomicLong inputBytes = new AtomicLong();
+        AtomicLong outputBytes = new AtomicLong();
+        AtomicLong records = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        ScheduledExecutorService reporter = progress == null ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enum-reencoder-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            long size = in.size();
+            if (reporter != null) {
+                reporter.scheduleAtFixedRate(() -> progress.println(input + ": " + percent(inputBytes.get(), size) +
+                                "% of " + size + " bytes, " + records.get() + " records, " + unknown(enumFields) +
+                                " unknown values"), progressIntervalMillis, progressIntervalMillis,
+                        TimeUnit.MILLISECONDS);
+            }
+            Deque<Future<ChunkRewriter.Result>> inFlight = new ArrayDeque<>();
+            for (long chunkStart = 0; chunkStart < size; ) {
+                long chunkEnd = nextLineStart(in, chunkStart + chunkSize - 1, size);
+                if (chunkEnd - chunkStart > Integer.MAX_VALUE) {
+                    throw new IOException("the line at or after byte " + chunkStart + " of " + input +
+                            " is too long to map");
+                }
+                if (inFlight.size() >= threads * 2) {
+                    write(inFlight.removeFirst(), out, inputBytes, outputBytes, records);
+                }
+                ByteBuffer chunk = in.map(FileChannel.MapMode.READ_ONLY, chunkStart, chunkEnd - chunkStart);
+                inFlight.addLast(pool.submit(new ChunkRewriter(chunk, chunkStart, factory, enumFields)));
+                chunkStart = chunkEnd;
+            }
+            while (!inFlight.isEmpty()) {
+                write(inFlight.removeFirst(), out, inputBytes, outputBytes, records);
+            }
+        } finally {
+            pool.shutdownNow();
+            if (reporter != null) {
+                reporter.shutdownNow();
+            }
+        }
+        List<ReencodeReport.FieldReport> fieldReports = new ArrayList<>();
+        for (EnumField<?> field : enumFields.all()) {
+            fieldReports.add(field.report());
+        }
+        return new ReencodeReport(records.get(), inputBytes.get(), outputBytes.get(),
+                System.currentTimeMillis() - start, fieldReports);
+    }
+
+    private static void write(Future<ChunkRewriter.Result> chunk, OutputStream out, AtomicLong inputBytes,
+                              AtomicLong outputBytes, AtomicLong records) throws IOException {
+        ChunkRewriter.Result result;
+        try {
+            result = chunk.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while re-encoding", ex);
+        } catch (ExecutionException ex) {
+            // the pool wraps checked exceptions, and may wrap again when rethrowing in another thread
+            for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IOException(ex.getCause().getMessage(), ex.getCause());
+        }
+        out.write(result.getOutput());
+        inputBytes.addAndGet(result.getInputBytes());
+        outputBytes.addAndGet(result.getOutput().length);
+        records.addAndGet(result.getRecords());
+    }
+
+    /**
+     * @return position right after the first line feed at or after {@code from}, the size if there is none
+     */
+    private static long nextLineStart(FileChannel in, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        for (long position = from; position < size; ) {
+            buffer.clear();
+            int read = in.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static long percent(long done, long total) {
+        return total == 0 ? 100 : done * 100 / total;
+    }
+
+    private static long unknown(EnumFields fields) {
+        long unknown = 0;
+        for (EnumField<?> field : fields.all()) {
+            unknown += field.getUnknown();
+        }
+        return unknown;
+    }
+}
@@ -0,0 +1,136 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What re-encoding a file did, see {@link EnumReencoder#reencode}
+ */
+public final class ReencodeReport {
+    private final long records;
+    private final long inputBytes;
+    private final long outputBytes;
+    private final long elapsedMillis;
+    private final List<FieldReport> fields;
+
+    ReencodeReport(long records, long inputBytes, long outputBytes, long elapsedMillis, List<FieldReport> fields) {
+        this.records = records;
+        this.inputBytes = inputBytes;
+        this.outputBytes = outputBytes;
+        this.elapsedMillis = elapsedMillis;
+        this.fields = Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @return number of lines holding a record
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    public long getInputBytes() {
+        return inputBytes;
+    }
+
+    public long getOutputBytes() {
+        return outputBytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return what happened to the values of each enum field
+     */
+    public List<FieldReport> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder().append(records).append(" records, ").append(inputBytes)
+                .append(" bytes read, ").append(outputBytes).append(" bytes written in ").append(elapsedMillis)
+                .append(" ms");
+        for (FieldReport field : fields) {
+            report.append('\n').append(field);
+        }
+        return report.toString();
+    }
+
+    /**
+     * What happened to the values of one enum field
+     */
+    public static final class FieldReport {
+        private final String path;
+        private final Class<?> enumClass;
+        private final long rewritten;
+        private final long unchanged;
+        private final long kept;
+        private final long unknown;
+        private final Map<String, Long> unknownSamples;
+
+        FieldReport(String path, Class<?> enumClass, long rewritten, long unchanged, long kept, long unknown,
+                    Map<String, Long> unknownSamples) {
+            this.path = path;
+            this.enumClass = enumClass;
+            this.rewritten = rewritten;
+            this.unchanged = unchanged;
+            this.kept = kept;
+            this.unknown = unknown;
+            this.unknownSamples = Collections.unmodifiableMap(unknownSamples);
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public Class<?> getEnumClass() {
+            return enumClass;
+        }
+
+        /**
+         * @return number of codes, numeric strings, aliases and other spellings replaced by the name of their constant
+         */
+        public long getRewritten() {
+            return rewritten;
+        }
+
+        /**
+         * @return number of values that already were the name of their constant
+         */
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        /**
+         * @return number of values kept as they were because the name of their constant doesn't read back as it, which
+         * happens when a string creator doesn't accept the names
+         */
+        public long getKept() {
+            return kept;
+        }
+
+        /**
+         * @return number of values that didn't match any constant and were kept as they were, nulls aren't counted
+         */
+        public long getUnknown() {
+            return unknown;
+        }
+
+        /**
+         * @return occurrences of the first 20 distinct unknown values, as text
+         */
+        public Map<String, Long> getUnknownSamples() {
+            return unknownSamples;
+        }
+
+        @Override
+        public String toString() {
+            return path + " (" + enumClass.getName() + "): " + rewritten + " rewritten, " + unchanged +
+                    " unchanged, " + kept + " kept, " + unknown + " unknown" +
+                    (unknownSamples.isEmpty() ? "" : " " + unknownSamples);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.cvent.enumdeserializer.reencoder;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for EnumReencoder
+ */
+public class EnumReencoderTest {
+
+    enum Status {
+        New(10),
+        @JsonProperty("done")
+        Done(20),
+        Cancelled(30);
+
+        private final int code;
+
+        Status(int code) {
+            this.code = code;
+        }
+    }
+
+    public enum Unit {
+        Kilogram, Pound;
+
+        @JsonCreator
+        public static Unit fromSymbol(String symbol) {
+            return "kg".equals(symbol) ? Kilogram : "lb".equals(symbol) ? Pound : null;
+        }
+    }
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private List<String> reencode(EnumReencoder reencoder, List<String> lines, ReencodeReport[] report)
+            throws IOException {
+        Path input = folder.newFile().toPath();
+        Path output = folder.newFile().toPath();
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        report[0] = reencoder.reencode(input, output);
+        return Files.readAllLines(output, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testRewritesCodesToNames() throws Exception {
+        ReencodeReport[] report = new ReencodeReport[1];
+        List<String> output = reencode(new EnumReencoder().withField("status", Status.class)
+                        .withField("order.lines.status", Status.class),
+                Arrays.asList(
+                        "{\"id\": 1, \"status\": 10, \"price\": 1.10, \"big\": 123456789012345678901234567890}",
+                        "{\"status\": \"20\", \"order\": {\"lines\": [{\"status\": 30}, {\"status\": \"New\"}]}}",
+                        "",
+                        "{\"status\": 99, \"other\": {\"status\": 10}, \"tags\": [\"x\", 20]}",
+                        "{\"status\": null, \"order\": {\"lines\": [{\"status\": \"cancelled\"}]}}"), report);
+        assertEquals(Arrays.asList(
+                "{\"id\":1,\"status\":\"New\",\"price\":1.10,\"big\":123456789012345678901234567890}",
+                "{\"status\":\"done\",\"order\":{\"lines\":[{\"status\":\"Cancelled\"},{\"status\":\"New\"}]}}",
+                "{\"status\":99,\"other\":{\"status\":10},\"tags\":[\"x\",20]}",
+                "{\"status\":null,\"order\":{\"lines\":[{\"status\":\"cancelled\"}]}}"), output);
+        assertEquals(4, report[0].getRecords());
+        ReencodeReport.FieldReport root = report[0].getFields().get(0);
+        assertEquals("status", root.getPath());
+        assertEquals(2, root.getRewritten());
+        assertEquals(1, root.getUnknown());
+        assertEquals(Collections.singletonMap("99", 1L), root.getUnknownSamples());
+        ReencodeReport.FieldReport nested = report[0].getFields().get(1);
+        assertEquals(1, nested.getRewritten());
+        assertEquals(1, nested.getUnchanged());
+        // names are matched case-sensitively, as by the deserializer
+        assertEquals(1, nested.getUnknown());
+    }
+
+    @Test
+    public void testKeepsValuesWhoseNameDoesNotReadBack() throws Exception {
+        ReencodeReport[] report = new ReencodeReport[1];
+        List<String> output = reencode(new EnumReencoder().withField("unit", Unit.class),
+                Arrays.asList("{\"unit\": \"kg\"}", "{\"unit\": \"oz\"}"), report);
+        assertEquals(Arrays.asList("{\"unit\":\"kg\"}", "{\"unit\":\"oz\"}"), output);
+        assertEquals(1, report[0].getFields().get(0).getKept());
+        assertEquals(1, report[0].getFields().get(0).getUnknown());
+    }
+
+    @Test
+    public void testChunksKeepTheOrderOfLines() throws Exception {
+        List<String> input = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Status status = Status.values()[i % 3];
+            input.add("{\"n\": " + i + ", \"status\": " + status.code + "}");
+            expected.add("{\"n\":" + i + ",\"status\":\"" + (status == Status.Done ? "done" : status.name()) + "\"}");
+        }
+        ReencodeReport[] report = new ReencodeReport[1];
+        List<String> output = reencode(new EnumReencoder().withField("status", Status.class).withThreads(4)
+                .withChunkSize(100), input, report);
+        assertEquals(expected, output);
+        assertEquals(2000, report[0].getRecords());
+        assertEquals(2000, report[0].getFields().get(0).getRewritten());
+    }
+
+    @Test
+    public void testInvalidJsonFailsWithOffset() throws Exception {
+        ReencodeReport[] report = new ReencodeReport[1];
+        try {
+            reencode(new EnumReencoder().withField("status", Status.class).withChunkSize(10),
+                    Arrays.asList("{\"status\": 10}", "{\"status\": }"), report);
+            fail();
+        } catch (IOException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("chunk at byte 15"));
+        }
+    }
+}
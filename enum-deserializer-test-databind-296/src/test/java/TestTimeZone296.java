@@ -7,16 +7,18 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
 /**
- * Test that this enum deserializes as expected
+ * Test that this enum deserializes as expected. enum-deserializer-compatibility also runs it against every
+ * jackson-databind version in the matrix.
  */
 public class TestTimeZone296 {
 
     /**
      * Mixin to use custom deserializer we want to test
      */
-//    @JsonDeserialize(using = EnumDeserializer.class)
+    @JsonDeserialize(using = EnumDeserializer.class)
     private static class TimeZoneMixin {
     }
 
@@ -40,6 +42,12 @@ public class TestTimeZone296 {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    /**
+     * Root-level test cases only supportable for jackson-databind>=2.5
+     */
+    private static final boolean ROOT_LEVEL_SUPPORTED = OBJECT_MAPPER.version().getMajorVersion() > 2 ||
+            OBJECT_MAPPER.version().getMinorVersion() >= 5;
+
     static {
         OBJECT_MAPPER.addMixInAnnotations(TimeZone.class, TimeZoneMixin.class);
     }
@@ -65,18 +73,21 @@ public class TestTimeZone296 {
     // Root-level test cases only supportable for jackson-databind>=2.5
     @Test
     public void testDeserializeFromIntRootLevel() throws Exception {
+        assumeTrue(ROOT_LEVEL_SUPPORTED);
         TimeZone timeZone = OBJECT_MAPPER.readValue("285", TimeZone.class);
         assertEquals(TimeZone.FijiIslandsTime, timeZone);
     }
 
     @Test
     public void testDeserializeFromIntStringRootLevel() throws Exception {
+        assumeTrue(ROOT_LEVEL_SUPPORTED);
         TimeZone timeZone = OBJECT_MAPPER.readValue("\"285\"", TimeZone.class);
         assertEquals(TimeZone.FijiIslandsTime, timeZone);
     }
 
     @Test
     public void testDeserializeFromNameRootLevel() throws Exception {
+        assumeTrue(ROOT_LEVEL_SUPPORTED);
         TimeZone timeZone = OBJECT_MAPPER.readValue("\"FijiIslandsTime\"", TimeZone.class);
         assertEquals(TimeZone.FijiIslandsTime, timeZone);
     }
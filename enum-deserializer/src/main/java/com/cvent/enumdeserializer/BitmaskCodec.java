@@ -0,0 +1,102 @@
+package com.cvent.enumdeserializer;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Converts sets of constants of one enum from and to bitmasks of 64-bit words, with the bit of each constant picked by
+ * an {@link EnumSetBitmask.Key}.
+ *
+ * @param <T> the enum type
+ */
+final class BitmaskCodec<T extends Enum<?>> {
+    /**
+     * Highest number of bits a mask can have, which keeps codes from requiring huge masks
+     */
+    static final int MAX_BITS = 4096;
+
+    private final int[] bitByOrdinal;
+    private final T[] constantByBit;
+    private final int words;
+
+    private BitmaskCodec(int[] bitByOrdinal, T[] constantByBit) {
+        this.bitByOrdinal = bitByOrdinal;
+        this.constantByBit = constantByBit;
+        this.words = Math.max(1, (constantByBit.length + 63) >>> 6);
+    }
+
+    /**
+     * Build the codec of an enum
+     * @param resolution the resolution of the enum
+     * @param key which bit stands for a constant
+     * @param <T> the enum type
+     * @return the codec
+     * @throws IllegalArgumentException if the enum doesn't have codes that can be bits
+     */
+    static <T extends Enum<?>> BitmaskCodec<T> build(EnumResolution<T> resolution, EnumSetBitmask.Key key) {
+        T[] constants = resolution.getTargetClass().getEnumConstants();
+        int[] bitByOrdinal = new int[constants.length];
+        int bits = 0;
+        for (T e : constants) {
+            long bit = e.ordinal();
+            if (key == EnumSetBitmask.Key.CODE) {
+                if (!resolution.hasCodes()) {
+                    throw new IllegalArgumentException("can't key bitmasks of " +
+                            resolution.getTargetClass().getCanonicalName() +
+                            " by code because it doesn't have codes that read back as the same constant");
+                }
+                bit = resolution.getCode(e.ordinal());
+                if (bit < 0 || bit >= MAX_BITS) {
+                    throw new IllegalArgumentException("can't key bitmasks of " +
+                            resolution.getTargetClass().getCanonicalName() + " by code because code " + bit +
+                            " of " + e + " isn't between 0 and " + (MAX_BITS - 1));
+                }
+            }
+            bitByOrdinal[e.ordinal()] = (int) bit;
+            bits = Math.max(bits, (int) bit + 1);
+        }
+        T[] constantByBit = Arrays.copyOf(constants, bits);
+        Arrays.fill(constantByBit, null);
+        for (T e : constants) {
+            constantByBit[bitByOrdinal[e.ordinal()]] = e;
+        }
+        return new BitmaskCodec<>(bitByOrdinal, constantByBit);
+    }
+
+    /**
+     * @return number of 64-bit words in a mask
+     */
+    int getWords() {
+        return words;
+    }
+
+    /**
+     * @param constants the constants to set the bits of
+     * @return the mask, {@link #getWords()} long
+     */
+    long[] encode(Set<? extends Enum<?>> constants) {
+        long[] mask = new long[words];
+        for (Enum<?> e : constants) {
+            int bit = bitByOrdinal[e.ordinal()];
+            mask[bit >>> 6] |= 1L << bit;
+        }
+        return mask;
+    }
+
+    /**
+     * Add the constants of the bits set in one word of a mask, ignoring bits that don't stand for a constant
+     * @param word the word
+     * @param index index of the word in the mask
+     * @param target the set to add to
+     */
+    void decode(long word, int index, Set<T> target) {
+        int base = index << 6;
+        while (word != 0) {
+            int bit = base + Long.numberOfTrailingZeros(word);
+            if (bit < constantByBit.length && constantByBit[bit] != null) {
+                target.add(constantByBit[bit]);
+            }
+            word &= word - 1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Snapshot of the memo in front of the string JsonCreator of an enum, see
+ * {@link EnumDeserializerOptions#pureStringCreator()}
+ */
+public final class CreatorCacheStats {
+    private final long hits;
+    private final long misses;
+    private final int capacity;
+
+    CreatorCacheStats(long hits, long misses, int capacity) {
+        this.hits = hits;
+        this.misses = misses;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return number of texts answered from the memo
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return number of texts the creator had to be called for
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return maximum number of texts the memo remembers
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String toString() {
+        return "CreatorCacheStats{hits=" + hits + ", misses=" + misses + ", capacity=" + capacity + "}";
+    }
+}
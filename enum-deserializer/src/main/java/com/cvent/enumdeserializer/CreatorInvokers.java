@@ -0,0 +1,206 @@
+package com.cvent.enumdeserializer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+/**
+ * Binds static {@link com.fasterxml.jackson.annotation.JsonCreator} factories once, so that calling them costs the same
+ * as calling the method directly. Where the creator can be linked from this library a class implementing one of the
+ * functional interfaces below is spun with {@link LambdaMetafactory}, which the JIT can inline like any other call.
+ * Otherwise the creator is called through an exact-typed {@link MethodHandle}. Either way the primitive argument isn't
+ * boxed and exceptions thrown by the creator reach the caller unwrapped.
+ *
+ * <p>Creators that look linkable but that {@link LambdaMetafactory} turns down, or that the spun class then can't
+ * access, fall back to the method handle as well. That fallback is logged at debug level with the reason, since it
+ * only costs speed and the creator is otherwise called as usual.
+ */
+final class CreatorInvokers {
+
+    /**
+     * Creator taking a long
+     */
+    interface LongCreator {
+        Object create(long value);
+    }
+
+    /**
+     * Creator taking an int
+     */
+    interface IntCreator {
+        Object create(int value);
+    }
+
+    /**
+     * Creator taking a short
+     */
+    interface ShortCreator {
+        Object create(short value);
+    }
+
+    /**
+     * Creator taking a string
+     */
+    interface StringCreator {
+        Object create(String value);
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private CreatorInvokers() {
+    }
+
+    /**
+     * Bind a static creator taking a long, int or short
+     * @param method the creator
+     * @param <T> the type created
+     * @return function calling the creator, narrowing the value to the parameter type first
+     */
+    @SuppressWarnings("unchecked")
+    static <T> LongFunction<T> bindIntegral(Method method) {
+        Class<?> param = method.getParameterTypes()[0];
+        if (param == long.class) {
+            LongCreator creator = bind(method, LongCreator.class, long.class);
+            return (long value) -> (T) creator.create(value);
+        } else if (param == int.class) {
+            IntCreator creator = bind(method, IntCreator.class, int.class);
+            return (long value) -> (T) creator.create((int) value);
+        } else if (param == short.class) {
+            ShortCreator creator = bind(method, ShortCreator.class, short.class);
+            return (long value) -> (T) creator.create((short) value);
+        }
+        throw new IllegalArgumentException("creator " + method + " doesn't take a long, int or short");
+    }
+
+    /**
+     * Bind a static creator taking a string
+     * @param method the creator
+     * @param <T> the type created
+     * @return function calling the creator
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Function<String, T> bindString(Method method) {
+        StringCreator creator = bind(method, StringCreator.class, String.class);
+        return (String value) -> (T) creator.create(value);
+    }
+
+    private static <I> I bind(Method method, Class<I> functionalInterface, Class<?> param) {
+        boolean linkable = isLinkable(method.getDeclaringClass());
+        MethodHandle handle;
+        try {
+            if (!linkable) {
+                method.setAccessible(true);
+            }
+            handle = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | RuntimeException ex) {
+            throw new IllegalArgumentException("can't access creator " + method, ex);
+        }
+        if (linkable) {
+            try {
+                return spin(method, handle, functionalInterface, param);
+            } catch (LambdaConversionException | IllegalAccessError ex) {
+                // the metafactory rejected the creator, or the spun class couldn't link to it after all, e.g. because
+                // its package isn't exported to this library; the method handle is slower but calls it all the same
+                if (!NativeImageSupport.isBuildingImage() && Log.LOG.isDebugEnabled()) {
+                    Log.LOG.debug("can't spin a class calling creator {}, calling it through a method handle instead",
+                            method, ex);
+                }
+            }
+        }
+        return fromHandle(handle.asType(MethodType.methodType(Object.class, param)), functionalInterface);
+    }
+
+    private static <I> I spin(Method method, MethodHandle handle, Class<I> functionalInterface, Class<?> param)
+            throws LambdaConversionException {
+        MethodHandle factory = LambdaMetafactory.metafactory(LOOKUP, "create",
+                MethodType.methodType(functionalInterface), MethodType.methodType(Object.class, param), handle,
+                MethodType.methodType(method.getReturnType(), param)).getTarget();
+        try {
+            return functionalInterface.cast(factory.invoke());
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // the factory of a lambda capturing nothing doesn't declare any exception
+            throw new IllegalStateException("can't create the class calling creator " + method, ex);
+        }
+    }
+
+    /**
+     * Whether classes spun in this library's classloader can call methods on a class directly: it and all classes it is
+     * nested in have to be public and visible from here
+     */
+    private static boolean isLinkable(Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, CreatorInvokers.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static <I> I fromHandle(MethodHandle handle, Class<I> functionalInterface) {
+        Object creator;
+        if (functionalInterface == LongCreator.class) {
+            creator = (LongCreator) (long value) -> {
+                try {
+                    return (Object) handle.invokeExact(value);
+                } catch (Throwable ex) {
+                    throw CreatorInvokers.<RuntimeException>sneakyThrow(ex);
+                }
+            };
+        } else if (functionalInterface == IntCreator.class) {
+            creator = (IntCreator) (int value) -> {
+                try {
+                    return (Object) handle.invokeExact(value);
+                } catch (Throwable ex) {
+                    throw CreatorInvokers.<RuntimeException>sneakyThrow(ex);
+                }
+            };
+        } else if (functionalInterface == ShortCreator.class) {
+            creator = (ShortCreator) (short value) -> {
+                try {
+                    return (Object) handle.invokeExact(value);
+                } catch (Throwable ex) {
+                    throw CreatorInvokers.<RuntimeException>sneakyThrow(ex);
+                }
+            };
+        } else {
+            creator = (StringCreator) (String value) -> {
+                try {
+                    return (Object) handle.invokeExact(value);
+                } catch (Throwable ex) {
+                    throw CreatorInvokers.<RuntimeException>sneakyThrow(ex);
+                }
+            };
+        }
+        return functionalInterface.cast(creator);
+    }
+
+    /**
+     * Rethrow any exception without wrapping it, the same way a directly linked call would
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneakyThrow(Throwable ex) throws E {
+        throw (E) ex;
+    }
+
+    /**
+     * Holds the logger, so that binding creators while a native image is built doesn't initialize slf4j
+     */
+    private static final class Log {
+        static final Logger LOG = LoggerFactory.getLogger(CreatorInvokers.class);
+    }
+}
@@ -0,0 +1,188 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes large JSON arrays of one enum as columns of ordinals, with the same rules as {@link EnumDeserializer}
+ * and {@link EnumSerializer} but without going through a mapper or creating an object per element. Arrays are read in
+ * chunks into a column the caller reuses, so memory stays flat however long the array is:
+ * <pre>{@code
+ * EnumColumnCodec<TimeZone> codec = EnumColumnCodec.forClass(TimeZone.class);
+ * short[] column = new short[8192];
+ * parser.nextToken(); // START_ARRAY
+ * int read;
+ * while ((read = codec.read(parser, column, 0, column.length)) > 0) {
+ *     // use column[0] to column[read - 1]
+ * }
+ * }</pre>
+ *
+ * <p>Elements that are null or don't match any constant are read as {@link #MISSING}, and {@link #MISSING} is written as
+ * null. Tools that stream enums embedded in other documents read one value at a time with {@link #readOrdinal}.
+ *
+ * @param <T> the enum type
+ */
+public final class EnumColumnCodec<T extends Enum<?>> {
+
+    /**
+     * Ordinal of elements that are null or don't match any constant
+     */
+    public static final int MISSING = -1;
+
+    private final EnumResolution<T> resolution;
+    private final int constants;
+
+    private EnumColumnCodec(EnumResolution<T> resolution) {
+        this.resolution = resolution;
+        this.constants = resolution.getTargetClass().getEnumConstants().length;
+    }
+
+    /**
+     * Get the codec of an enum
+     * @param enumClass the enum
+     * @param <T> the enum type
+     * @return the codec
+     * @throws IllegalArgumentException if the deserializer can't handle the enum
+     */
+    public static <T extends Enum<?>> EnumColumnCodec<T> forClass(Class<T> enumClass) {
+        return new EnumColumnCodec<>(EnumResolution.forClass(enumClass));
+    }
+
+    /**
+     * Read the next elements of an array into a column
+     * @param jp parser on the start of the array or on the last element read by the previous call
+     * @param column the column
+     * @param offset where to put the first element in the column
+     * @param length maximum number of elements to read
+     * @return number of elements read, 0 once the end of the array is reached
+     * @throws IOException if the input can't be read or holds something that can't be an enum
+     * @throws IllegalArgumentException if the enum has more constants than fit in a byte
+     */
+    public int read(JsonParser jp, byte[] column, int offset, int length) throws IOException {
+        checkFits(Byte.MAX_VALUE);
+        if (jp.getCurrentToken() == JsonToken.END_ARRAY) {
+            return 0;
+        }
+        int read = 0;
+        JsonToken curr;
+        while (read < length && (curr = jp.nextToken()) != JsonToken.END_ARRAY) {
+            column[offset + read++] = (byte) ordinal(jp, curr);
+        }
+        return read;
+    }
+
+    /**
+     * Read the next elements of an array into a column
+     * @param jp parser on the start of the array or on the last element read by the previous call
+     * @param column the column
+     * @param offset where to put the first element in the column
+     * @param length maximum number of elements to read
+     * @return number of elements read, 0 once the end of the array is reached
+     * @throws IOException if the input can't be read or holds something that can't be an enum
+     * @throws IllegalArgumentException if the enum has more constants than fit in a short
+     */
+    public int read(JsonParser jp, short[] column, int offset, int length) throws IOException {
+        checkFits(Short.MAX_VALUE);
+        if (jp.getCurrentToken() == JsonToken.END_ARRAY) {
+            return 0;
+        }
+        int read = 0;
+        JsonToken curr;
+        while (read < length && (curr = jp.nextToken()) != JsonToken.END_ARRAY) {
+            column[offset + read++] = (short) ordinal(jp, curr);
+        }
+        return read;
+    }
+
+    /**
+     * Write elements of a column, the caller writing the start and end of the array
+     * @param gen the generator
+     * @param column the column
+     * @param offset the first element to write
+     * @param length number of elements to write
+     * @throws IOException if the output can't be written
+     */
+    public void write(JsonGenerator gen, byte[] column, int offset, int length) throws IOException {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            write(gen, column[i]);
+        }
+    }
+
+    /**
+     * Write elements of a column, the caller writing the start and end of the array
+     * @param gen the generator
+     * @param column the column
+     * @param offset the first element to write
+     * @param length number of elements to write
+     * @throws IOException if the output can't be written
+     */
+    public void write(JsonGenerator gen, short[] column, int offset, int length) throws IOException {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            write(gen, column[i]);
+        }
+    }
+
+    /**
+     * Read the value the parser is on
+     * @param jp parser on a string, int or null
+     * @return the ordinal of the constant, {@link #MISSING} if the value is null or doesn't match any constant
+     * @throws IOException if the input can't be read or the value can't be an enum
+     */
+    public int readOrdinal(JsonParser jp) throws IOException {
+        return ordinal(jp, jp.getCurrentToken());
+    }
+
+    /**
+     * @param ordinal ordinal of a constant
+     * @return the name the constant is written as when it is written by name, its rename if it has one
+     */
+    public SerializableString getName(int ordinal) {
+        return resolution.getSerializedName(ordinal);
+    }
+
+    private void write(JsonGenerator gen, int ordinal) throws IOException {
+        if (ordinal == MISSING) {
+            gen.writeNull();
+        } else if (resolution.hasCodes()) {
+            gen.writeNumber(resolution.getCode(ordinal));
+        } else {
+            gen.writeString(resolution.getSerializedName(ordinal));
+        }
+    }
+
+    private int ordinal(JsonParser jp, JsonToken curr) throws IOException {
+        T value;
+        if (curr == JsonToken.VALUE_NUMBER_INT) {
+            value = resolution.fromInt(EnumDeserializer.readCode(jp));
+        } else if (curr == JsonToken.VALUE_STRING) {
+            if (jp.hasTextCharacters()) {
+                char[] buf = jp.getTextCharacters();
+                int offset = jp.getTextOffset();
+                int length = jp.getTextLength();
+                long code = NumericText.parse(buf, offset, length);
+                value = code != NumericText.NOT_NUMERIC ? resolution.fromInt(code) :
+                        resolution.fromString(buf, offset, length, false);
+            } else {
+                value = resolution.fromText(jp.getText());
+            }
+        } else if (curr == JsonToken.VALUE_NULL) {
+            value = null;
+        } else {
+            throw new JsonMappingException("expected string or int for enum " +
+                    resolution.getTargetClass().getName() + " in column", jp.getCurrentLocation());
+        }
+        return value == null ? MISSING : value.ordinal();
+    }
+
+    private void checkFits(int maxOrdinal) {
+        if (constants - 1 > maxOrdinal) {
+            throw new IllegalArgumentException(resolution.getTargetClass().getCanonicalName() + " has " + constants +
+                    " constants, which don't fit in a column of ordinals up to " + maxOrdinal);
+        }
+    }
+}
@@ -1,35 +1,42 @@
 package com.cvent.enumdeserializer;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Arrays;
+import java.lang.reflect.Constructor;
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.LongFunction;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Deserializer for doing hacky things to get enums to deserialize from a bunch of different formats using a bunch of
  * different jackson versions
  */
 public class EnumDeserializer extends JsonDeserializer<Enum<?>> implements ContextualDeserializer {
-    private static final Logger LOG = LoggerFactory.getLogger(EnumDeserializer.class);
+
+    /**
+     * The enum to deserialize if it is known up front, null to determine it from the context
+     */
+    private final Class<?> knownClass;
+
+    public EnumDeserializer() {
+        this(null);
+    }
+
+    EnumDeserializer(Class<?> knownClass) {
+        super();
+        this.knownClass = knownClass;
+    }
 
     @Override
     public Enum<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
@@ -44,190 +51,526 @@ public class EnumDeserializer extends JsonDeserializer<Enum<?>> implements Conte
     @Override
     public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
             throws JsonMappingException {
-        if (property != null) {
+        Class<?> targetClass;
+        if (knownClass != null) {
+            targetClass = knownClass;
+        } else if (property != null && property.getType().isEnumType()) {
             // Determine type based on the type of the property being deserialized
-            return new EnumDeserializerImpl(property.getType().getRawClass());
+            targetClass = property.getType().getRawClass();
+        } else {
+            try {
+                // Root-level object, can only determine the type in jackson-databind>=2.5
+                targetClass = ctxt.getContextualType().getRawClass();
+            } catch (NoSuchMethodError ex) {
+                throw new RuntimeException(
+                        "can't support deserializing enums as root-level objects in jackson-databind<2.5. " +
+                        "Upgrade library or deserialize as a property in another object instead.");
+            }
+        }
+        ResolvedOptions options = ResolvedOptions.resolve(targetClass,
+                property == null ? null : property.getAnnotation(EnumDeserializerOptions.class),
+                findAttribute(ctxt.getConfig(), EnumDeserializerConfig.class));
+        boolean caseInsensitive = options.isCaseInsensitive();
+        InputFormat format = options.getInputFormat();
+        // Generated lookups only match exact names, call string creators directly and don't know legacy mappings or
+        // strict formats, so they can't be used when matching ignoring case, memoizing the creator, reading legacy
+        // values or only accepting some encodings
+        EnumDeserializerOptions enumOptions = targetClass.getAnnotation(EnumDeserializerOptions.class);
+        boolean memoized = enumOptions != null && enumOptions.pureStringCreator();
+        GeneratedEnumLookup<?> generated = format != InputFormat.ANY || caseInsensitive || memoized ||
+                EnumResolution.hasLegacyMappings(targetClass) ? null : GeneratedLookups.forClass((Class) targetClass);
+        JsonDeserializer<?> deserializer;
+        boolean hasCodes;
+        boolean stringCreator;
+        if (generated != null) {
+            deserializer = new GeneratedEnumDeserializer(targetClass, generated);
+            hasCodes = generated.hasCodes();
+            // generated lookups handle string creators and names alike, without telling which one they used
+            stringCreator = false;
+        } else {
+            EnumResolution<?> resolution = EnumResolution.forClass((Class) targetClass);
+            hasCodes = resolution.canCreateFromInt();
+            stringCreator = resolution.hasStringCreator();
+            if (format == InputFormat.ANY) {
+                deserializer = specialize(resolution, caseInsensitive);
+            } else if (format == InputFormat.NAMES_ONLY) {
+                deserializer = new NamesOnlyDeserializer(resolution, caseInsensitive);
+            } else if (hasCodes) {
+                deserializer = new CodesOnlyDeserializer(resolution, format == InputFormat.CODES_AND_NUMERIC_STRINGS);
+            } else {
+                throw new IllegalArgumentException(format + " needs codes, but " + targetClass.getCanonicalName() +
+                        " has neither an int creator nor a single integral field");
+            }
+        }
+
+        // decorators are only added when they are used, so that the default configuration runs the bare deserializer
+        EnumDeserializerListener listener = findAttribute(ctxt.getConfig(), EnumDeserializerListener.class);
+        if (listener != null) {
+            deserializer = new InstrumentedEnumDeserializer(deserializer, targetClass, listener, stringCreator);
+        }
+        UnknownValuePolicy policy = options.getOnUnknown();
+        if (policy != UnknownValuePolicy.NULL) {
+            deserializer = new UnknownValueDeserializer(deserializer, targetClass, policy,
+                    policy == UnknownValuePolicy.DEFAULT ? findDefaultConstant(targetClass) : null,
+                    policy == UnknownValuePolicy.CALLBACK ? createHandler(options.getUnknownValueHandler()) : null,
+                    hasCodes, format == InputFormat.NAMES_ONLY);
+        }
+        return deserializer;
+    }
+
+    static Enum<?> findDefaultConstant(Class<?> targetClass) {
+        Enum<?> defaultConstant = EnumResolution.forClass((Class) targetClass).getDefaultConstant();
+        if (defaultConstant == null) {
+            throw new IllegalArgumentException("no constant of " + targetClass.getCanonicalName() +
+                    " is annotated with @JsonEnumDefaultValue, which is needed for UnknownValuePolicy.DEFAULT");
+        }
+        return defaultConstant;
+    }
+
+    static UnknownEnumValueHandler createHandler(Class<? extends UnknownEnumValueHandler> handlerClass) {
+        if (handlerClass == UnknownEnumValueHandler.class) {
+            throw new IllegalArgumentException("UnknownValuePolicy.CALLBACK needs an unknownValueHandler");
+        }
+        try {
+            Constructor<? extends UnknownEnumValueHandler> constructor = handlerClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            throw new IllegalArgumentException("can't create unknown value handler " + handlerClass.getName(), ex);
+        }
+    }
+
+    /**
+     * Get the hits and misses of the memo in front of the string JsonCreator of an enum, see
+     * {@link EnumDeserializerOptions#pureStringCreator()}
+     * @param enumClass the enum
+     * @return the stats, or null if the enum doesn't memoize its string creator
+     * @throws IllegalArgumentException if the deserializer can't handle the enum
+     */
+    public static CreatorCacheStats getCreatorCacheStats(Class<? extends Enum<?>> enumClass) {
+        return EnumResolution.forClass((Class) enumClass).getCreatorCacheStats();
+    }
+
+    /**
+     * Estimate the heap the deserializer retains for every enum it has resolved in this process: the lookup tables
+     * built for it, the caches in front of its creators and the strings they remember. Enums whose classes were
+     * unloaded drop out of the report.
+     * @return the report
+     */
+    public static FootprintReport getFootprint() {
+        List<EnumFootprint> enums = new ArrayList<>();
+        for (Class<?> enumClass : Footprints.resolved()) {
+            enums.add(new EnumFootprint(enumClass, EnumResolution.forClass((Class) enumClass).footprint()));
         }
+        return new FootprintReport(enums);
+    }
+
+    /**
+     * Estimate the heap the deserializer retains for one enum, see {@link #getFootprint()}
+     * @param enumClass the enum
+     * @return the footprint, resolving the enum if it wasn't resolved yet
+     * @throws IllegalArgumentException if the deserializer can't handle the enum
+     */
+    public static EnumFootprint getFootprint(Class<? extends Enum<?>> enumClass) {
+        return new EnumFootprint(enumClass, EnumResolution.forClass((Class) enumClass).footprint());
+    }
+
+    /**
+     * Read an integral token as a code. Binary formats like Smile and CBOR decode numbers natively, and reading one that
+     * fits an int as an int hands it over without converting it; text formats parse the number either way.
+     */
+    static long readCode(JsonParser jp) throws IOException {
+        return jp.getNumberType() == JsonParser.NumberType.INT ? jp.getIntValue() : jp.getLongValue();
+    }
+
+    /**
+     * Find an object configured as a context attribute keyed by its type, see {@link EnumDeserializerListener} and
+     * {@link EnumDeserializerConfig}
+     */
+    static <A> A findAttribute(DeserializationConfig config, Class<A> type) {
         try {
-            // Root-level object, can only determine the type in jackson-databind>=2.5
-            return new EnumDeserializerImpl(ctxt.getContextualType().getRawClass());
+            // per-call attributes don't exist yet when readers prefetch their root deserializer, and deserializers are
+            // cached across calls anyway, so only the attributes of the configuration apply
+            Object attribute = config.getAttributes().getAttribute(type);
+            return type.isInstance(attribute) ? type.cast(attribute) : null;
         } catch (NoSuchMethodError ex) {
-            throw new RuntimeException(
-                    "can't support deserializing enums as root-level objects in jackson-databind<2.5. " +
-                    "Upgrade library or deserialize as a property in another object instead.");
+            // attributes only exist in jackson-databind>=2.3
+            return null;
+        }
+    }
+
+    /**
+     * Read the Java object a parser hands out as is instead of as a token: {@code TokenBuffer}s and trees built from
+     * objects, like the ones {@code convertValue} and {@code valueToTree} build, hold numbers, strings and enums that
+     * had no serializer of their own as embedded objects. They are looked up directly, without going through text.
+     * @param fromCode lookup for integral numbers, null if codes aren't accepted
+     * @param fromText lookup for strings, null if strings aren't accepted
+     */
+    private static <T extends Enum<?>> T fromEmbedded(JsonParser jp, Class<T> targetClass, LongFunction<T> fromCode,
+                                                      Function<String, T> fromText) throws IOException {
+        Object value = jp.getEmbeddedObject();
+        if (value == null) {
+            return null;
+        } else if (targetClass.isInstance(value)) {
+            return targetClass.cast(value);
+        } else if (fromCode != null && isIntegral(value)) {
+            return fromCode.apply(((Number) value).longValue());
+        } else if (fromText != null && value instanceof String) {
+            return fromText.apply((String) value);
         }
+        throw new UnexpectedTokenException(jp, "expected string or int for enum " + targetClass.getName() +
+                ", got embedded " + value.getClass().getName());
+    }
+
+    /**
+     * @return whether an embedded object is a whole number that fits in a long
+     */
+    static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte ||
+                value instanceof BigInteger && ((BigInteger) value).bitLength() < Long.SIZE;
     }
 
     /**
-     * Deserializer for one specific enum type
-     * @param <T> the enum type to deserializer
+     * Pick the deserializer for how a resolved enum is read. Each strategy has a final class of its own holding its
+     * tables directly, so the lookups it calls are the same at every call site however many enums are in use, and the
+     * JIT can inline them. The strategies reading codes and names only differ in the code lookup and share their token
+     * dispatch through {@link CodeAndNameDeserializer}.
      */
-    private static class EnumDeserializerImpl<T extends Enum<?>> extends JsonDeserializer<T> {
+    private static <T extends Enum<?>> JsonDeserializer<T> specialize(EnumResolution<T> resolution,
+                                                                      boolean caseInsensitive) {
+        if (resolution.hasStringCreator()) {
+            return new StringCreatorDeserializer<>(resolution);
+        } else if (resolution.getCodeIndex() != null) {
+            return new FieldCodeDeserializer<>(resolution, caseInsensitive);
+        } else if (resolution.canCreateFromInt()) {
+            return new CreatorIntDeserializer<>(resolution, caseInsensitive);
+        }
+        return new NameOnlyDeserializer<>(resolution, caseInsensitive);
+    }
+
+    /**
+     * Token dispatch shared by the deserializers reading codes and names. Strings are matched straight from the
+     * parser's buffer, numeric strings and ints are looked up as codes and embedded values are unwrapped; subclasses
+     * only supply the code lookup. The name index is a final class, so matching names, the common case, stays a direct
+     * call whichever subclass runs.
+     * @param <T> the enum type to deserialize
+     */
+    private abstract static class CodeAndNameDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
 
         private final Class<T> targetClass;
-        private LongFunction<T> createFromInt;
-        private Function<String, T> createFromString;
+        private final NameIndex<T> names;
+        private final SharedStringCache<T> sharedStrings;
+        private final boolean caseInsensitive;
+        /**
+         * Whether a code always reads as the same constant, so that what numeric shared strings resolved to can be
+         * remembered; creators may return a different constant every time
+         */
+        private final boolean rememberCodes;
 
-        EnumDeserializerImpl(Class<T> targetClass) {
+        CodeAndNameDeserializer(EnumResolution<T> resolution, boolean caseInsensitive, boolean rememberCodes) {
             super();
-            this.targetClass = targetClass;
+            this.targetClass = resolution.getTargetClass();
+            this.names = resolution.getNames();
+            this.sharedStrings = resolution.getSharedStrings();
+            this.caseInsensitive = caseInsensitive;
+            this.rememberCodes = rememberCodes;
         }
 
+        /**
+         * Look up a code read from an int, a numeric string or an embedded number
+         * @param code the code
+         * @return the constant, null if no constant has the code
+         */
+        abstract T fromCode(long code);
+
         @Override
-        public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        public final T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException,
+                JsonProcessingException {
             JsonToken curr = jp.getCurrentToken();
-
             if (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME) {
-                String value = jp.getText();
-                return constructFromString(value);
+                if (jp.hasTextCharacters()) {
+                    // match straight from the parser's buffer instead of building a string
+                    char[] buf = jp.getTextCharacters();
+                    int offset = jp.getTextOffset();
+                    int length = jp.getTextLength();
+                    long code = NumericText.parse(buf, offset, length);
+                    if (code != NumericText.NOT_NUMERIC) {
+                        // a number, can't be the name of the enum, use the number instead
+                        return fromCode(code);
+                    }
+                    return caseInsensitive ? names.getIgnoreCase(buf, offset, length) : names.get(buf, offset, length);
+                }
+                return fromText(jp.getText());
             } else if (curr == JsonToken.VALUE_NUMBER_INT) {
-                long value = jp.getLongValue();
-                return constructFromInt(value);
+                return fromCode(readCode(jp));
             } else if (curr == JsonToken.VALUE_NULL) {
                 return null;
-            } else {
-                throw ctxt.wrongTokenException(jp, JsonToken.VALUE_STRING, "expected string or int for enum");
+            } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                return fromEmbedded(jp, targetClass, this::fromCode, this::fromText);
             }
+            throw new UnexpectedTokenException(jp);
         }
 
-        private T constructFromString(String value) {
-            if (value.matches("^\\d*")) {
-                // starts with a number, can't be the name of the enum, try parsing as a number instead
-                int intValue = Integer.parseInt(value);
-                return constructFromInt(intValue);
+        private T fromText(String text) {
+            // field names and the strings binary formats refer back to are shared instances, remembered for exact
+            // matching only
+            SharedStringCache.Entry<T> entry = caseInsensitive ? null : sharedStrings.get(text);
+            if (entry != null) {
+                return entry.value;
             }
-            if (this.createFromString == null) {
-                this.createFromString = findCreateFromString();
+            long code = NumericText.parse(text);
+            if (code != NumericText.NOT_NUMERIC && (caseInsensitive || !rememberCodes)) {
+                return fromCode(code);
+            } else if (caseInsensitive) {
+                return names.getIgnoreCase(text);
             }
-            return this.createFromString.apply(value);
+            T value = code != NumericText.NOT_NUMERIC ? fromCode(code) : names.get(text);
+            sharedStrings.put(text, value);
+            return value;
         }
+    }
 
-        private T constructFromInt(long value) {
-            if (this.createFromInt == null) {
-                this.createFromInt = findCreateFromInt();
-            }
-            return this.createFromInt.apply(value);
-        }
-
-        private Function<String, T> findCreateFromString() {
-            // Try to find JsonCreator method first
-            Method stringCreator = findStringCreatorMethod();
-            if (stringCreator != null) {
-                return (String value) -> {
-                    try {
-                        return (T) stringCreator.invoke(null, value);
-                    } catch (IllegalAccessException | InvocationTargetException ex) {
-                        throw new RuntimeException(ex);
+    /**
+     * Deserializer for an enum read from the codes of its integral field (or legacy codes) and from names
+     * @param <T> the enum type to deserialize
+     */
+    private static final class FieldCodeDeserializer<T extends Enum<?>> extends CodeAndNameDeserializer<T> {
+
+        private final IntCodeIndex<T> codes;
+
+        FieldCodeDeserializer(EnumResolution<T> resolution, boolean caseInsensitive) {
+            super(resolution, caseInsensitive, true);
+            this.codes = resolution.getCodeIndex();
+        }
+
+        @Override
+        T fromCode(long code) {
+            return codes.get(code);
+        }
+    }
+
+    /**
+     * Deserializer for an enum read from codes passed to an int JsonCreator and from names
+     * @param <T> the enum type to deserialize
+     */
+    private static final class CreatorIntDeserializer<T extends Enum<?>> extends CodeAndNameDeserializer<T> {
+
+        /**
+         * Only used for codes, which go through the creator and the cache of codes it returned null for
+         */
+        private final EnumResolution<T> resolution;
+
+        CreatorIntDeserializer(EnumResolution<T> resolution, boolean caseInsensitive) {
+            super(resolution, caseInsensitive, false);
+            this.resolution = resolution;
+        }
+
+        @Override
+        T fromCode(long code) {
+            return resolution.fromInt(code);
+        }
+    }
+
+    /**
+     * Deserializer for an enum without codes, only read from names
+     * @param <T> the enum type to deserialize
+     */
+    private static final class NameOnlyDeserializer<T extends Enum<?>> extends CodeAndNameDeserializer<T> {
+
+        /**
+         * Only used to report codes, which this enum can't be read from
+         */
+        private final EnumResolution<T> resolution;
+
+        NameOnlyDeserializer(EnumResolution<T> resolution, boolean caseInsensitive) {
+            super(resolution, caseInsensitive, false);
+            this.resolution = resolution;
+        }
+
+        @Override
+        T fromCode(long code) {
+            // fails, the enum has no codes
+            return resolution.fromInt(code);
+        }
+    }
+
+    /**
+     * Deserializer for an enum whose strings are passed to a string JsonCreator
+     * @param <T> the enum type to deserialize
+     */
+    private static final class StringCreatorDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+        private final EnumResolution<T> resolution;
+
+        StringCreatorDeserializer(EnumResolution<T> resolution) {
+            super();
+            this.resolution = resolution;
+        }
+
+        @Override
+        public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+            JsonToken curr = jp.getCurrentToken();
+            if (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME) {
+                if (jp.hasTextCharacters()) {
+                    char[] buf = jp.getTextCharacters();
+                    int offset = jp.getTextOffset();
+                    int length = jp.getTextLength();
+                    long code = NumericText.parse(buf, offset, length);
+                    if (code != NumericText.NOT_NUMERIC) {
+                        return resolution.fromInt(code);
                     }
-                };
-            }
-            // don't know how to create from string, try to match by name instead
-            T[] enums = targetClass.getEnumConstants();
-            return (String value) -> Arrays.stream(enums)
-                    .filter(e -> e.name().equals(value)).findFirst().orElse(null);
-        }
-
-        private Stream<Method> findCreatorMethods() {
-            return Arrays.stream(targetClass.getMethods())
-                    .filter(method -> method.getAnnotation(JsonCreator.class) != null &&
-                            Modifier.isStatic(method.getModifiers()) &&
-                            targetClass.isAssignableFrom(method.getReturnType()));
-        }
-
-        private Method findStringCreatorMethod() {
-            return findCreatorMethods()
-                    .filter(method -> {
-                        Class<?>[] params = method.getParameterTypes();
-                        return params.length == 1 && params[0].isAssignableFrom(String.class);
-                    })
-                    .findFirst()
-                    .orElse(null);
-        }
-
-        private LongFunction<T> findCreateFromInt() {
-            // Try to find JsonCreator method first
-            LongFunction<T> intCreator = findIntCreatorMethod();
-            if (intCreator != null) {
-                return intCreator;
-            }
-            // Look for a single integral field in the class as fallback
-            LongFunction<T> onlyIntField = findOnlyIntField();
-            if (onlyIntField != null) {
-                return onlyIntField;
+                    // the creator takes a string anyway
+                    return resolution.fromStringCreator(new String(buf, offset, length));
+                }
+                // only numeric text read from field codes is remembered per instance, see EnumResolution.fromText
+                return resolution.fromText(jp.getText());
+            } else if (curr == JsonToken.VALUE_NUMBER_INT) {
+                return resolution.fromInt(readCode(jp));
+            } else if (curr == JsonToken.VALUE_NULL) {
+                return null;
+            } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                return fromEmbedded(jp, resolution.getTargetClass(), resolution::fromInt, resolution::fromText);
             }
-            throw new IllegalArgumentException("couldn't figure out any deserialization method from int for class " +
-                    targetClass.getCanonicalName());
+            throw new UnexpectedTokenException(jp);
         }
+    }
 
-        private LongFunction<T> findIntCreatorMethod() {
-            return findCreatorMethods().<LongFunction<T>>map(method -> {
-                Class<?>[] params = method.getParameterTypes();
-                if (params.length != 1) {
-                    return null;
-                }
-                if (params[0].isAssignableFrom(long.class)) {
-                    return (long value) -> {
-                        try {
-                            return (T) method.invoke(null, (long) value);
-                        } catch (IllegalAccessException | InvocationTargetException ex) {
-                            throw new RuntimeException(ex);
-                        }
-                    };
-                } else if (params[0].isAssignableFrom(int.class)) {
-                    return (long value) -> {
-                        try {
-                            return (T) method.invoke(null, (int) value);
-                        } catch (IllegalAccessException | InvocationTargetException ex) {
-                            throw new RuntimeException(ex);
-                        }
-                    };
-                } else if (params[0].isAssignableFrom(short.class)) {
-                    return (long value) -> {
-                        try {
-                            return (T) method.invoke(null, (short) value);
-                        } catch (IllegalAccessException | InvocationTargetException ex) {
-                            throw new RuntimeException(ex);
-                        }
-                    };
+    /**
+     * Deserializer for {@link InputFormat#NAMES_ONLY}, matching every string by name without checking for a number first
+     * @param <T> the enum type to deserialize
+     */
+    private static final class NamesOnlyDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+        private final EnumResolution<T> resolution;
+        private final boolean caseInsensitive;
+
+        NamesOnlyDeserializer(EnumResolution<T> resolution, boolean caseInsensitive) {
+            super();
+            this.resolution = resolution;
+            this.caseInsensitive = caseInsensitive;
+        }
+
+        @Override
+        public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+            JsonToken curr = jp.getCurrentToken();
+            if (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME) {
+                if (jp.hasTextCharacters()) {
+                    return resolution.fromString(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength(),
+                            caseInsensitive);
                 }
+                return resolution.fromString(jp.getText(), caseInsensitive);
+            } else if (curr == JsonToken.VALUE_NULL) {
                 return null;
-            }).filter(creator -> creator != null).findFirst().orElse(null);
-        }
-
-        private LongFunction<T> findOnlyIntField() {
-            List<Field> fields = Arrays.stream(targetClass.getDeclaredFields())
-                    .filter(field -> field.getType().isAssignableFrom(short.class) ||
-                            field.getType().isAssignableFrom(int.class) ||
-                            field.getType().isAssignableFrom(long.class))
-                    .limit(2)
-                    .collect(Collectors.toList());
-            if (fields.size() == 1) {
-                Field field = fields.get(0);
-                field.setAccessible(true);
-                T[] enums = targetClass.getEnumConstants();
-                return (long value) -> {
-                    for (T e : enums) {
-                        try {
-                            if (field.getLong(e) == value) {
-                                return e;
-                            }
-                        } catch (IllegalAccessException ex) {
-                            throw new RuntimeException(ex);
-                        }
-
-                    }
-                    return null;
-                };
+            } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                // embedded numbers aren't names either
+                return fromEmbedded(jp, resolution.getTargetClass(), null,
+                        (String value) -> resolution.fromString(value, caseInsensitive));
             }
-            if (LOG.isDebugEnabled()) {
-                if (fields.size() == 0) {
-                    LOG.debug("no integral fields on the enum class");
-                } else {
-                    LOG.debug("multiple integral fields on the enum class, couldn't determine which one to use: " +
-                            fields.stream().map(Field::getName).collect(Collectors.joining(", ")));
+            throw new UnexpectedTokenException(jp, "expected a name for enum " +
+                    resolution.getTargetClass().getName() + " in format " + InputFormat.NAMES_ONLY);
+        }
+    }
+
+    /**
+     * Deserializer for {@link InputFormat#CODES_ONLY} and {@link InputFormat#CODES_AND_NUMERIC_STRINGS}, never matching
+     * names
+     * @param <T> the enum type to deserialize
+     */
+    private static final class CodesOnlyDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+        private final EnumResolution<T> resolution;
+        private final boolean numericStrings;
+
+        CodesOnlyDeserializer(EnumResolution<T> resolution, boolean numericStrings) {
+            super();
+            this.resolution = resolution;
+            this.numericStrings = numericStrings;
+        }
+
+        @Override
+        public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+            JsonToken curr = jp.getCurrentToken();
+            if (curr == JsonToken.VALUE_NUMBER_INT) {
+                return resolution.fromInt(readCode(jp));
+            } else if (curr == JsonToken.VALUE_NULL) {
+                return null;
+            } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                // embedded strings are taken as names, even in the format accepting numeric strings
+                return fromEmbedded(jp, resolution.getTargetClass(), resolution::fromInt, null);
+            } else if (numericStrings && (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME)) {
+                long code = jp.hasTextCharacters() ?
+                        NumericText.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength()) :
+                        NumericText.parse(jp.getText());
+                if (code != NumericText.NOT_NUMERIC) {
+                    return resolution.fromInt(code);
                 }
             }
-            return null;
+            throw new UnexpectedTokenException(jp, "expected " + (numericStrings ? "an int or numeric string" :
+                    "an int") + " for enum " + resolution.getTargetClass().getName());
+        }
+    }
+
+    /**
+     * Deserializer for an enum with a lookup generated at compile time, doesn't need any reflection
+     * @param <T> the enum type to deserialize
+     */
+    private static class GeneratedEnumDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+        private final Class<T> targetClass;
+        private final GeneratedEnumLookup<T> lookup;
+
+        GeneratedEnumDeserializer(Class<T> targetClass, GeneratedEnumLookup<T> lookup) {
+            super();
+            this.targetClass = targetClass;
+            this.lookup = lookup;
+        }
+
+        @Override
+        public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+            JsonToken curr = jp.getCurrentToken();
+
+            if (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME) {
+                return fromText(jp.getText());
+            } else if (curr == JsonToken.VALUE_NUMBER_INT) {
+                return lookup.fromCode(readCode(jp));
+            } else if (curr == JsonToken.VALUE_NULL) {
+                return null;
+            } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                return fromEmbedded(jp, targetClass, lookup::fromCode, this::fromText);
+            } else {
+                throw new UnexpectedTokenException(jp);
+            }
+        }
+
+        private T fromText(String value) {
+            long code = NumericText.parse(value);
+            if (code != NumericText.NOT_NUMERIC) {
+                return lookup.fromCode(code);
+            }
+            return lookup.fromName(value);
+        }
+    }
+
+    /**
+     * Thrown for tokens that can't be an enum. Like {@link UnknownEnumValueException} it doesn't capture a stack trace,
+     * since it reports bad input.
+     */
+    private static final class UnexpectedTokenException extends JsonMappingException {
+        private static final long serialVersionUID = 1L;
+
+        UnexpectedTokenException(JsonParser jp) {
+            this(jp, "expected string or int for enum");
+        }
+
+        UnexpectedTokenException(JsonParser jp, String message) {
+            // JsonMappingException(String, JsonLocation) is the only way to report this that exists in every
+            // supported jackson-databind version
+            super(message, jp.getCurrentLocation());
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
         }
     }
 }
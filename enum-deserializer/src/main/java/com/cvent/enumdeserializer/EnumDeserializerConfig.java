@@ -0,0 +1,68 @@
+package com.cvent.enumdeserializer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mapper-wide settings for {@link EnumDeserializer}, for enums and properties that don't set them with
+ * {@link EnumDeserializerOptions}. Set it as a context attribute before the mapper reads its first enum, like
+ * {@link EnumDeserializerListener}:
+ * <pre>{@code
+ * EnumDeserializerConfig config = new EnumDeserializerConfig().withInputFormat(InputFormat.NAMES_ONLY);
+ * mapper.setConfig(mapper.getDeserializationConfig().withAttribute(EnumDeserializerConfig.class, config));
+ * }</pre>
+ *
+ * <p>Instances are immutable, the {@code with} methods return a copy.
+ */
+public final class EnumDeserializerConfig {
+
+    private final InputFormat inputFormat;
+    private final Map<Class<?>, InputFormat> enumInputFormats;
+
+    public EnumDeserializerConfig() {
+        this(InputFormat.ANY, Collections.<Class<?>, InputFormat>emptyMap());
+    }
+
+    private EnumDeserializerConfig(InputFormat inputFormat, Map<Class<?>, InputFormat> enumInputFormats) {
+        this.inputFormat = inputFormat;
+        this.enumInputFormats = enumInputFormats;
+    }
+
+    /**
+     * Set the format of all enums
+     * @param format the format
+     * @return a copy with the format
+     */
+    public EnumDeserializerConfig withInputFormat(InputFormat format) {
+        return new EnumDeserializerConfig(checkFormat(format), enumInputFormats);
+    }
+
+    /**
+     * Set the format of one enum, taking precedence over the format of all enums
+     * @param enumClass the enum
+     * @param format the format
+     * @return a copy with the format
+     */
+    public EnumDeserializerConfig withInputFormat(Class<? extends Enum<?>> enumClass, InputFormat format) {
+        Map<Class<?>, InputFormat> formats = new HashMap<>(enumInputFormats);
+        formats.put(enumClass, checkFormat(format));
+        return new EnumDeserializerConfig(inputFormat, Collections.unmodifiableMap(formats));
+    }
+
+    /**
+     * @param enumClass the enum
+     * @return the format of the enum
+     */
+    public InputFormat getInputFormat(Class<?> enumClass) {
+        InputFormat format = enumInputFormats.get(enumClass);
+        return format != null ? format : inputFormat;
+    }
+
+    private static InputFormat checkFormat(InputFormat format) {
+        if (format == null || format == InputFormat.INHERIT) {
+            throw new IllegalArgumentException("expected a format other than " + InputFormat.INHERIT + ", got " + format);
+        }
+        return format;
+    }
+}
@@ -0,0 +1,73 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Listener told about every value {@link EnumDeserializer} reads, for example to find out which encodings are still
+ * sent or which enums receive unknown values. {@link EnumDeserializerMetrics} counts them.
+ *
+ * <p>A listener is picked up from the context attribute keyed by this interface when a deserializer is created, so it
+ * has to be set on the mapper's configuration before the mapper reads its first enum:
+ * <pre>{@code
+ * mapper.setConfig(mapper.getDeserializationConfig().withAttribute(EnumDeserializerListener.class, listener));
+ * }</pre>
+ * Deserializers created without a listener aren't instrumented at all.
+ *
+ * <p>Listeners are called from every thread deserializing, so they have to be thread-safe and cheap.
+ */
+public interface EnumDeserializerListener {
+
+    /**
+     * The way a value was read
+     */
+    enum Path {
+        /**
+         * A JSON integer, looked up as a code
+         */
+        INT,
+        /**
+         * A string holding an integer, looked up as a code
+         */
+        NUMERIC_STRING,
+        /**
+         * A string passed to the enum's string JsonCreator
+         */
+        STRING_CREATOR,
+        /**
+         * A string matched against the names of the constants
+         */
+        NAME,
+        /**
+         * A JSON null
+         */
+        NULL,
+        /**
+         * A number, string or constant held as a Java object by a buffer or tree built from objects, as with
+         * {@code ObjectMapper.convertValue}
+         */
+        EMBEDDED
+    }
+
+    /**
+     * Called after a value was read
+     * @param enumClass the enum the value was read as
+     * @param path the way it was read
+     * @param matched false if no constant matched the value, which is deserialized as null
+     */
+    void onDeserialized(Class<?> enumClass, Path path, boolean matched);
+
+    /**
+     * @return measure the time taken by one in this many reads and report it to {@link #onLatencySample}, 0 to not
+     * measure it at all
+     */
+    default int getLatencySampleInterval() {
+        return 0;
+    }
+
+    /**
+     * Called with the time taken by a sampled read, after {@link #onDeserialized}
+     * @param enumClass the enum the value was read as
+     * @param path the way it was read
+     * @param nanos the time taken in nanoseconds
+     */
+    default void onLatencySample(Class<?> enumClass, Path path, long nanos) {
+    }
+}
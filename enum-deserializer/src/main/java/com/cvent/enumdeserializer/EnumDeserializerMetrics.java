@@ -0,0 +1,213 @@
+package com.cvent.enumdeserializer;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link EnumDeserializerListener} counting the values read per enum and path in {@link LongAdder}s, so that threads
+ * reading the same enum don't contend on one counter. Optionally also keeps a histogram of sampled read times. The
+ * counts can be read directly or through JMX after {@link #registerMBean(String)}.
+ */
+public class EnumDeserializerMetrics implements EnumDeserializerListener, EnumDeserializerMetricsMXBean {
+
+    private static final EnumDeserializerListener.Path[] PATHS = EnumDeserializerListener.Path.values();
+
+    /**
+     * Enough power-of-two buckets for any duration in nanoseconds
+     */
+    private static final int LATENCY_BUCKETS = 64;
+
+    private final int latencySampleInterval;
+
+    /**
+     * Counters of each enum, attached to the enum class itself so that a long-lived listener doesn't keep the
+     * classloaders of the enums it has counted from being unloaded, and finding them takes no lock
+     */
+    private final ClassValue<Counters> counters = new ClassValue<Counters>() {
+        @Override
+        protected Counters computeValue(Class<?> type) {
+            counted.put(type, Boolean.TRUE);
+            return new Counters(latencySampleInterval > 0);
+        }
+    };
+
+    /**
+     * Enums counted so far, weakly so that unloaded enums drop out, since a class value can't list its classes
+     */
+    private final Map<Class<?>, Boolean> counted = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Count values without measuring latency
+     */
+    public EnumDeserializerMetrics() {
+        this(0);
+    }
+
+    /**
+     * @param latencySampleInterval measure the time taken by one in this many reads, 0 to not measure it
+     */
+    public EnumDeserializerMetrics(int latencySampleInterval) {
+        if (latencySampleInterval < 0) {
+            throw new IllegalArgumentException("latency sample interval can't be negative: " + latencySampleInterval);
+        }
+        this.latencySampleInterval = latencySampleInterval;
+    }
+
+    @Override
+    public int getLatencySampleInterval() {
+        return latencySampleInterval;
+    }
+
+    @Override
+    public void onDeserialized(Class<?> enumClass, Path path, boolean matched) {
+        Counters enumCounters = counters.get(enumClass);
+        enumCounters.counts[path.ordinal()].increment();
+        if (!matched) {
+            enumCounters.misses[path.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void onLatencySample(Class<?> enumClass, Path path, long nanos) {
+        LongAdder[][] latencies = counters.get(enumClass).latencies;
+        if (latencies != null) {
+            latencies[path.ordinal()][LATENCY_BUCKETS - Long.numberOfLeadingZeros(Math.max(nanos, 0))]
+                    .increment();
+        }
+    }
+
+    /**
+     * @param enumClass an enum
+     * @param path a path
+     * @return number of values of the enum read through the path
+     */
+    public long getCount(Class<?> enumClass, Path path) {
+        return counted.containsKey(enumClass) ? counters.get(enumClass).counts[path.ordinal()].sum() : 0;
+    }
+
+    /**
+     * @param enumClass an enum
+     * @param path a path
+     * @return number of values of the enum read through the path that didn't match any constant
+     */
+    public long getMissCount(Class<?> enumClass, Path path) {
+        return counted.containsKey(enumClass) ? counters.get(enumClass).misses[path.ordinal()].sum() : 0;
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (Class<?> enumClass : countedEnums()) {
+            addNonZero(counts, enumClass, counters.get(enumClass).counts);
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getMisses() {
+        Map<String, Long> misses = new TreeMap<>();
+        for (Class<?> enumClass : countedEnums()) {
+            addNonZero(misses, enumClass, counters.get(enumClass).misses);
+        }
+        return misses;
+    }
+
+    @Override
+    public Map<String, long[]> getLatencyHistograms() {
+        Map<String, long[]> histograms = new TreeMap<>();
+        for (Class<?> enumClass : countedEnums()) {
+            Counters enumCounters = counters.get(enumClass);
+            if (enumCounters.latencies == null) {
+                continue;
+            }
+            for (Path path : PATHS) {
+                long[] histogram = new long[LATENCY_BUCKETS];
+                long total = 0;
+                for (int i = 0; i < LATENCY_BUCKETS; i++) {
+                    histogram[i] = enumCounters.latencies[path.ordinal()][i].sum();
+                    total += histogram[i];
+                }
+                if (total > 0) {
+                    histograms.put(key(enumClass, path), histogram);
+                }
+            }
+        }
+        return histograms;
+    }
+
+    @Override
+    public void reset() {
+        for (Class<?> enumClass : countedEnums()) {
+            counted.remove(enumClass);
+            counters.remove(enumClass);
+        }
+    }
+
+    /**
+     * Register these metrics with the platform MBean server
+     * @param name value of the {@code name} key of the object name, to tell several registered metrics apart
+     * @return the object name the metrics are registered under
+     * @throws JMException if the metrics can't be registered
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName(EnumDeserializerMetrics.class.getPackage().getName() +
+                ":type=" + EnumDeserializerMetrics.class.getSimpleName() + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    private List<Class<?>> countedEnums() {
+        synchronized (counted) {
+            return new ArrayList<>(counted.keySet());
+        }
+    }
+
+    private static void addNonZero(Map<String, Long> target, Class<?> enumClass, LongAdder[] adders) {
+        for (Path path : PATHS) {
+            long sum = adders[path.ordinal()].sum();
+            if (sum > 0) {
+                target.put(key(enumClass, path), sum);
+            }
+        }
+    }
+
+    private static String key(Class<?> enumClass, Path path) {
+        return enumClass.getName() + ":" + path;
+    }
+
+    /**
+     * Counters of one enum, indexed by path
+     */
+    private static final class Counters {
+        final LongAdder[] counts = newAdders(PATHS.length);
+        final LongAdder[] misses = newAdders(PATHS.length);
+        final LongAdder[][] latencies;
+
+        Counters(boolean measureLatency) {
+            if (measureLatency) {
+                latencies = new LongAdder[PATHS.length][];
+                for (int i = 0; i < PATHS.length; i++) {
+                    latencies[i] = newAdders(LATENCY_BUCKETS);
+                }
+            } else {
+                latencies = null;
+            }
+        }
+
+        private static LongAdder[] newAdders(int size) {
+            LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.cvent.enumdeserializer;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link EnumDeserializerMetrics}. Keys are the enum class name and the {@link EnumDeserializerListener.Path}
+ * joined by a colon, e.g. {@code com.example.TimeZone:NAME}.
+ */
+public interface EnumDeserializerMetricsMXBean {
+
+    /**
+     * @return number of values read per enum and path
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * @return number of values per enum and path that didn't match any constant
+     */
+    Map<String, Long> getMisses();
+
+    /**
+     * @return sampled read times per enum and path, bucket {@code i} counting reads that took less than {@code 2^i}
+     * nanoseconds and at least {@code 2^(i-1)}; empty if latency isn't sampled
+     */
+    Map<String, long[]> getLatencyHistograms();
+
+    /**
+     * Reset all counters
+     */
+    void reset();
+}
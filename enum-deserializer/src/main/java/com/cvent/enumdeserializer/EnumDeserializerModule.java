@@ -0,0 +1,194 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.KeyDeserializers;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+
+/**
+ * Module applying {@link EnumDeserializer} to enums without having to annotate each of them or add mixins. By default
+ * it applies to every enum, {@link #forPackages} and {@link #forAnnotated} narrow that down; an enum is included if it
+ * matches any of them. Enums annotated with their own deserializer keep using it.
+ *
+ * <p>The same enums are also read with the same rules as map keys, and {@link EnumSet}s and {@link EnumMap}s of them are
+ * built directly instead of going through a generic collection.
+ *
+ * <p>Resolving an enum takes reflection, which would otherwise happen while handling the first requests that use it.
+ * Enums passed to {@link #warmUp} are resolved in parallel on a fork-join pool as soon as the module is registered, so
+ * that the mapper doesn't do any of that work while serving requests.
+ */
+public class EnumDeserializerModule extends Module {
+
+    private final List<String> packagePrefixes = new ArrayList<>();
+    private final List<Class<? extends Annotation>> annotations = new ArrayList<>();
+    private final Set<Class<?>> warmUpClasses = new LinkedHashSet<>();
+    private ForkJoinPool warmUpPool = ForkJoinPool.commonPool();
+
+    /**
+     * Apply the deserializer to enums in these packages, including their subpackages
+     * @param packageNames the package names
+     * @return this module
+     */
+    public EnumDeserializerModule forPackages(String... packageNames) {
+        for (String packageName : packageNames) {
+            packagePrefixes.add(packageName.endsWith(".") ? packageName : packageName + ".");
+        }
+        return this;
+    }
+
+    /**
+     * Apply the deserializer to enums annotated with any of these annotations
+     * @param annotationTypes the annotations, which have to be retained at runtime
+     * @return this module
+     */
+    @SafeVarargs
+    public final EnumDeserializerModule forAnnotated(Class<? extends Annotation>... annotationTypes) {
+        annotations.addAll(Arrays.asList(annotationTypes));
+        return this;
+    }
+
+    /**
+     * Resolve these enums when the module is registered
+     * @param enumClasses the enums
+     * @return this module
+     */
+    public EnumDeserializerModule warmUp(Collection<? extends Class<? extends Enum<?>>> enumClasses) {
+        warmUpClasses.addAll(enumClasses);
+        return this;
+    }
+
+    /**
+     * Use another pool than the common pool for warming up
+     * @param pool the pool
+     * @return this module
+     */
+    public EnumDeserializerModule warmUpOn(ForkJoinPool pool) {
+        this.warmUpPool = pool;
+        return this;
+    }
+
+    /**
+     * Resolve enums in parallel, so that deserializing them later doesn't need any reflection
+     * @param enumClasses the enums
+     * @param pool the pool to resolve them on
+     * @throws IllegalArgumentException if the deserializer can't handle one of the enums
+     */
+    public static void resolveAll(Collection<? extends Class<?>> enumClasses, ForkJoinPool pool) {
+        List<ForkJoinTask<?>> tasks = enumClasses.stream()
+                .map(enumClass -> ForkJoinTask.adapt(() -> EnumResolution.forClass((Class) enumClass)))
+                .collect(Collectors.toList());
+        pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+    }
+
+    @Override
+    public String getModuleName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        if (!warmUpClasses.isEmpty()) {
+            resolveAll(warmUpClasses, warmUpPool);
+        }
+        EnumDeserializers deserializers = new EnumDeserializers(new ArrayList<>(packagePrefixes),
+                new ArrayList<>(annotations));
+        context.addDeserializers(deserializers);
+        context.addKeyDeserializers(deserializers);
+    }
+
+    /**
+     * Provides the deserializers for the enums the module applies to, and for sets, maps and map keys of them
+     */
+    private static class EnumDeserializers extends Deserializers.Base implements KeyDeserializers {
+        private final List<String> packagePrefixes;
+        private final List<Class<? extends Annotation>> annotations;
+
+        EnumDeserializers(List<String> packagePrefixes, List<Class<? extends Annotation>> annotations) {
+            this.packagePrefixes = packagePrefixes;
+            this.annotations = annotations;
+        }
+
+        @Override
+        public JsonDeserializer<?> findEnumDeserializer(Class<?> type, DeserializationConfig config,
+                                                        BeanDescription beanDesc) {
+            return appliesTo(type) ? new EnumDeserializer(type) : null;
+        }
+
+        @Override
+        public JsonDeserializer<?> findCollectionDeserializer(CollectionType type, DeserializationConfig config,
+                                                              BeanDescription beanDesc,
+                                                              TypeDeserializer elementTypeDeserializer,
+                                                              JsonDeserializer<?> elementDeserializer) {
+            Class<?> elementClass = type.getContentType().getRawClass();
+            if (type.getRawClass() != EnumSet.class || !elementClass.isEnum() || !appliesTo(elementClass)) {
+                return null;
+            }
+            return new EnumSetDeserializer((Class) elementClass);
+        }
+
+        @Override
+        public JsonDeserializer<?> findMapDeserializer(MapType type, DeserializationConfig config,
+                                                       BeanDescription beanDesc, KeyDeserializer keyDeserializer,
+                                                       TypeDeserializer elementTypeDeserializer,
+                                                       JsonDeserializer<?> elementDeserializer) {
+            Class<?> keyClass = type.getKeyType().getRawClass();
+            if (type.getRawClass() != EnumMap.class || !keyClass.isEnum() || !appliesTo(keyClass)) {
+                return null;
+            }
+            return new EnumMapDeserializer((Class) keyClass, type.getContentType(), keyDeserializer,
+                    elementDeserializer, elementTypeDeserializer);
+        }
+
+        @Override
+        public KeyDeserializer findKeyDeserializer(JavaType type, DeserializationConfig config,
+                                                   BeanDescription beanDesc) {
+            Class<?> keyClass = type.getRawClass();
+            return keyClass.isEnum() && appliesTo(keyClass) ?
+                    EnumKeyDeserializer.forEnum((Class) keyClass, config) : null;
+        }
+
+        private boolean appliesTo(Class<?> type) {
+            if (packagePrefixes.isEmpty() && annotations.isEmpty()) {
+                return true;
+            }
+            String name = type.getName();
+            for (String prefix : packagePrefixes) {
+                if (name.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            for (Class<? extends Annotation> annotation : annotations) {
+                if (type.isAnnotationPresent(annotation)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
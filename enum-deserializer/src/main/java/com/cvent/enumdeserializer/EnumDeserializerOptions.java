@@ -0,0 +1,66 @@
+package com.cvent.enumdeserializer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Options for {@link EnumDeserializer}. Can be put on the enum itself, or on a property to override the options of the
+ * enum for that property only. Options a property leaves to {@code INHERIT} keep the value set on the enum.
+ */
+@Target({ElementType.TYPE, ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnumDeserializerOptions {
+
+    /**
+     * Whether names (including {@link com.fasterxml.jackson.annotation.JsonProperty} renames and
+     * {@link com.fasterxml.jackson.annotation.JsonAlias} aliases) that don't match exactly should be matched ignoring
+     * case. Inherits from the enum, and matches case-sensitively if neither sets it.
+     */
+    OptionalBoolean caseInsensitive() default OptionalBoolean.INHERIT;
+
+    /**
+     * Which encodings to accept, see {@link InputFormat}. Inherits from the enum, then from
+     * {@link EnumDeserializerConfig}, and accepts any encoding if neither sets it.
+     */
+    InputFormat inputFormat() default InputFormat.INHERIT;
+
+    /**
+     * What to do with names and codes that don't match any constant. Inherits from the enum, and reads them as null if
+     * neither sets it.
+     */
+    UnknownValuePolicy onUnknown() default UnknownValuePolicy.INHERIT;
+
+    /**
+     * Handler deciding what unknown values become with {@link UnknownValuePolicy#CALLBACK}. Inherits from the enum.
+     */
+    Class<? extends UnknownEnumValueHandler> unknownValueHandler() default UnknownEnumValueHandler.class;
+
+    /**
+     * Whether the string JsonCreator of the enum is pure, always returning the same constant for the same text. Its
+     * results are then memoized, up to {@link #stringCreatorCacheSize()} texts. Only read from the enum itself.
+     */
+    boolean pureStringCreator() default false;
+
+    /**
+     * Whether the int JsonCreator of the enum is pure, always returning the same constant for the same code. Codes it
+     * returned null for are then remembered in a small table and not passed to it again while they stay there. Only
+     * read from the enum itself.
+     */
+    boolean pureIntCreator() default false;
+
+    /**
+     * Maximum number of texts whose creator result is memoized with {@link #pureStringCreator()}, rounded up to a power
+     * of two, at most {@code 1 << 30}
+     */
+    int stringCreatorCacheSize() default 256;
+
+    /**
+     * Where to read extra codes and names of the enum from: a classpath resource, or a file path prefixed with
+     * {@code file:}. Resources ending in {@code .json} are read as JSON, others as properties. Defaults to
+     * {@code META-INF/enum-deserializer/<enum class name>.properties} or {@code .json} on the classpath, if either
+     * exists. Only read from the enum itself.
+     */
+    String legacyMappings() default "";
+}
@@ -0,0 +1,34 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Estimated heap the deserializer retains for one enum, see {@link EnumDeserializer#getFootprint()}
+ */
+public final class EnumFootprint {
+    private final Class<?> enumClass;
+    private final long retainedBytes;
+
+    EnumFootprint(Class<?> enumClass, long retainedBytes) {
+        this.enumClass = enumClass;
+        this.retainedBytes = retainedBytes;
+    }
+
+    /**
+     * @return the enum
+     */
+    public Class<?> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * @return estimated bytes taken by the lookup tables and caches of the enum, assuming a 64-bit JVM with compressed
+     * references; the constants themselves aren't counted
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "EnumFootprint{enumClass=" + enumClass.getName() + ", retainedBytes=" + retainedBytes + "}";
+    }
+}
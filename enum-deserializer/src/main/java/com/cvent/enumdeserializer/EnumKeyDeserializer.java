@@ -0,0 +1,116 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads map keys as enums with the same rules and {@link EnumDeserializerOptions} as {@link EnumDeserializer}: keys
+ * holding integers are looked up as codes, all other keys by name. Keys are always strings, so both code formats accept
+ * keys holding integers. A map can't hold a null key, so keys that don't match any constant fail unless the
+ * {@link UnknownValuePolicy} turns them into a constant.
+ *
+ * @param <T> the enum type
+ */
+final class EnumKeyDeserializer<T extends Enum<?>> extends KeyDeserializer implements ContextualKeyDeserializer {
+
+    private final EnumResolution<T> resolution;
+    private final EnumDeserializerConfig config;
+    private final boolean caseInsensitive;
+    private final InputFormat format;
+    private final UnknownValuePolicy policy;
+    private final T defaultConstant;
+    private final UnknownEnumValueHandler handler;
+
+    /**
+     * @param resolution the enum
+     * @param config the mapper-wide settings, null if there are none
+     * @param propertyOptions the options of the map property, null if it has none or there is no property
+     */
+    EnumKeyDeserializer(EnumResolution<T> resolution, EnumDeserializerConfig config,
+                        EnumDeserializerOptions propertyOptions) {
+        super();
+        Class<T> targetClass = resolution.getTargetClass();
+        ResolvedOptions options = ResolvedOptions.resolve(targetClass, propertyOptions, config);
+        this.resolution = resolution;
+        this.config = config;
+        this.caseInsensitive = options.isCaseInsensitive();
+        this.format = options.getInputFormat();
+        this.policy = options.getOnUnknown();
+        this.defaultConstant = policy == UnknownValuePolicy.DEFAULT ?
+                targetClass.cast(EnumDeserializer.findDefaultConstant(targetClass)) : null;
+        this.handler = policy == UnknownValuePolicy.CALLBACK ?
+                EnumDeserializer.createHandler(options.getUnknownValueHandler()) : null;
+        if (acceptsOnlyCodes() && !resolution.canCreateFromInt()) {
+            throw new IllegalArgumentException(format + " needs codes, but " + targetClass.getCanonicalName() +
+                    " has neither an int creator nor a single integral field");
+        }
+    }
+
+    /**
+     * @param enumClass the enum
+     * @param config the configuration of the mapper
+     * @return the key deserializer for maps that aren't properties, or whose property sets no options
+     */
+    static <T extends Enum<?>> EnumKeyDeserializer<T> forEnum(Class<T> enumClass, DeserializationConfig config) {
+        return new EnumKeyDeserializer<>(EnumResolution.forClass(enumClass),
+                EnumDeserializer.findAttribute(config, EnumDeserializerConfig.class), null);
+    }
+
+    @Override
+    public KeyDeserializer createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        EnumDeserializerOptions propertyOptions = property == null ? null :
+                property.getAnnotation(EnumDeserializerOptions.class);
+        return propertyOptions == null ? this : new EnumKeyDeserializer<>(resolution, config, propertyOptions);
+    }
+
+    @Override
+    public T deserializeKey(String key, DeserializationContext ctxt) throws IOException {
+        T value;
+        if (format == InputFormat.ANY && !caseInsensitive &&
+                (resolution.canCreateFromInt() || NumericText.parse(key) == NumericText.NOT_NUMERIC)) {
+            // field names are canonicalized by the parser, so the same key usually arrives as the same instance
+            value = resolution.fromText(key);
+        } else {
+            long code = format == InputFormat.NAMES_ONLY ? NumericText.NOT_NUMERIC : NumericText.parse(key);
+            if (code != NumericText.NOT_NUMERIC) {
+                value = resolution.canCreateFromInt() ? resolution.fromInt(code) : null;
+            } else if (acceptsOnlyCodes()) {
+                throw new JsonMappingException("expected a key holding an int for enum " +
+                        resolution.getTargetClass().getName() + " in format " + format + ", got " + key,
+                        ctxt.getParser() == null ? null : ctxt.getParser().getCurrentLocation());
+            } else {
+                value = resolution.fromString(key, caseInsensitive);
+            }
+        }
+        return value != null ? value : onUnknown(key, ctxt);
+    }
+
+    private boolean acceptsOnlyCodes() {
+        return format == InputFormat.CODES_ONLY || format == InputFormat.CODES_AND_NUMERIC_STRINGS;
+    }
+
+    private T onUnknown(String key, DeserializationContext ctxt) throws JsonMappingException {
+        Class<T> targetClass = resolution.getTargetClass();
+        T value = null;
+        if (policy == UnknownValuePolicy.DEFAULT) {
+            value = defaultConstant;
+        } else if (policy == UnknownValuePolicy.CALLBACK) {
+            long code = format == InputFormat.NAMES_ONLY ? NumericText.NOT_NUMERIC : NumericText.parse(key);
+            value = targetClass.cast(code == NumericText.NOT_NUMERIC ? handler.onUnknownName(targetClass, key) :
+                    handler.onUnknownCode(targetClass, code));
+        }
+        // null isn't a key, so NULL fails like FAIL does, as does a handler returning null
+        if (value == null) {
+            throw new UnknownEnumValueException(targetClass, key,
+                    ctxt.getParser() == null ? null : ctxt.getParser().getCurrentLocation());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,103 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.KeyDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.ContextualKeyDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import java.io.IOException;
+import java.util.EnumMap;
+
+/**
+ * Reads JSON objects straight into an {@link EnumMap}, reading the keys with {@link EnumKeyDeserializer} unless the
+ * property names another key deserializer.
+ */
+final class EnumMapDeserializer extends JsonDeserializer<EnumMap<?, ?>> implements ContextualDeserializer {
+
+    private final Class<? extends Enum> enumClass;
+    private final JavaType valueType;
+    private final KeyDeserializer keyDeserializer;
+    private final JsonDeserializer<?> valueDeserializer;
+    private final TypeDeserializer valueTypeDeserializer;
+
+    /**
+     * @param enumClass the key enum
+     * @param valueType the type of the values
+     * @param keyDeserializer the key deserializer, null to use an {@link EnumKeyDeserializer}
+     * @param valueDeserializer the value deserializer, null to find it from the value type
+     * @param valueTypeDeserializer the type deserializer for polymorphic values, null if they aren't polymorphic
+     */
+    EnumMapDeserializer(Class<? extends Enum> enumClass, JavaType valueType, KeyDeserializer keyDeserializer,
+                        JsonDeserializer<?> valueDeserializer, TypeDeserializer valueTypeDeserializer) {
+        super();
+        this.enumClass = enumClass;
+        this.valueType = valueType;
+        this.keyDeserializer = keyDeserializer;
+        this.valueDeserializer = valueDeserializer;
+        this.valueTypeDeserializer = valueTypeDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        KeyDeserializer keys = keyDeserializer != null ? keyDeserializer :
+                EnumKeyDeserializer.forEnum((Class) enumClass, ctxt.getConfig());
+        if (keys instanceof ContextualKeyDeserializer) {
+            keys = ((ContextualKeyDeserializer) keys).createContextual(ctxt, property);
+        }
+        JsonDeserializer<?> values;
+        if (valueDeserializer == null) {
+            values = ctxt.findContextualValueDeserializer(valueType, property);
+        } else if (valueDeserializer instanceof ContextualDeserializer) {
+            values = ((ContextualDeserializer) valueDeserializer).createContextual(ctxt, property);
+        } else {
+            values = valueDeserializer;
+        }
+        TypeDeserializer valueTypes = valueTypeDeserializer == null ? null : valueTypeDeserializer.forProperty(property);
+        return new EnumMapDeserializer(enumClass, valueType, keys, values, valueTypes);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EnumMap<?, ?> deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException,
+            JsonProcessingException {
+        JsonToken curr = jp.getCurrentToken();
+        if (curr == JsonToken.START_OBJECT) {
+            curr = jp.nextToken();
+        } else if (curr != JsonToken.FIELD_NAME && curr != JsonToken.END_OBJECT) {
+            throw new JsonMappingException("expected an object for EnumMap keyed by " + enumClass.getName(),
+                    jp.getCurrentLocation());
+        }
+        EnumMap map = new EnumMap(enumClass);
+        for (; curr == JsonToken.FIELD_NAME; curr = jp.nextToken()) {
+            Object key = keyDeserializer.deserializeKey(jp.getCurrentName(), ctxt);
+            JsonToken valueToken = jp.nextToken();
+            Object value;
+            if (valueToken == JsonToken.VALUE_NULL) {
+                value = null;
+            } else if (valueTypeDeserializer == null) {
+                value = valueDeserializer.deserialize(jp, ctxt);
+            } else {
+                value = valueDeserializer.deserializeWithType(jp, ctxt, valueTypeDeserializer);
+            }
+            if (key != null) {
+                map.put(key, value);
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser jp, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException, JsonProcessingException {
+        return typeDeserializer.deserializeTypedFromObject(jp, ctxt);
+    }
+}
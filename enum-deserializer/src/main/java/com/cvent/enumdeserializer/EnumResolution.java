@@ -0,0 +1,716 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The resolved lookup strategy for one enum class. All the reflection needed to figure out how to build the enum from
+ * an int or a string happens once, when the resolution is created, and the result is shared by every deserializer for
+ * that enum.
+ *
+ * @param <T> the enum type
+ */
+final class EnumResolution<T extends Enum<?>> {
+
+    /**
+     * Process-wide cache of resolutions. Values are attached to the enum class itself, so they are collected together
+     * with the class when its classloader is unloaded.
+     *
+     * <p>{@link ClassValue} lets racing threads each compute a value and keeps only one of them, so it only holds a cheap
+     * {@link Pending} placeholder; the placeholder makes sure the reflection runs once however many threads ask for the
+     * resolution at the same time.
+     */
+    private static final ClassValue<Pending<?>> CACHE = new ClassValue<Pending<?>>() {
+        @Override
+        protected Pending<?> computeValue(Class<?> type) {
+            return Pending.forType(type);
+        }
+    };
+
+    /**
+     * Whether each enum has legacy mappings, looked up on the classpath once per class and without resolving the enum,
+     * see {@link #hasLegacyMappings(Class)}
+     */
+    private static final ClassValue<Boolean> LEGACY_MAPPINGS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return LegacyMappings.exists(type);
+        }
+    };
+
+    /**
+     * {@link JsonAlias} only exists in jackson-annotations>=2.9
+     */
+    private static final boolean HAS_JSON_ALIAS = hasClass("com.fasterxml.jackson.annotation.JsonAlias");
+
+    /**
+     * {@link JsonEnumDefaultValue} only exists in jackson-annotations>=2.8
+     */
+    private static final boolean HAS_JSON_ENUM_DEFAULT_VALUE =
+            hasClass("com.fasterxml.jackson.annotation.JsonEnumDefaultValue");
+
+    private final Class<T> targetClass;
+    private final T[] constants;
+    private final LongFunction<T> createFromInt;
+    /**
+     * Codes of the integral field and legacy codes, null if the enum has an int creator or no codes at all
+     */
+    private final IntCodeIndex<T> codeIndex;
+    /**
+     * Legacy codes looked up before calling the int creator, null unless the enum has both
+     */
+    private final IntCodeIndex<T> legacyCodeIndex;
+    private final Function<String, T> stringCreator;
+    private final NameIndex<T> names;
+    /**
+     * Legacy names, only needed for enums with a string creator since they are part of {@link #names} otherwise
+     */
+    private final NameIndex<T> legacyNames;
+    private final T defaultConstant;
+
+    /**
+     * Codes the int creator returned null for, null unless the enum has an int JsonCreator declared pure
+     */
+    private final NegativeCache creatorMisses;
+    private final boolean intFromCreator;
+
+    /**
+     * Results of the string creator, null unless it is declared pure
+     */
+    private final StringCreatorCache<T> creatorResults;
+
+    /**
+     * What recent string instances handed out by parsers resolved to, see {@link #fromText(String)}
+     */
+    private final SharedStringCache<T> sharedStrings = new SharedStringCache<>();
+
+    /**
+     * Code of each constant by ordinal, null if the enum doesn't have codes that read back as the same constant
+     */
+    private final long[] codes;
+    private final SerializableString[] serializedNames;
+
+    private EnumResolution(Class<T> targetClass) {
+        this.targetClass = targetClass;
+        this.constants = targetClass.getEnumConstants();
+        Field codeField = findOnlyIntField();
+        long[] fieldCodes = codeField == null ? null : readCodes(codeField);
+        LegacyMappings legacy = hasLegacyMappings(targetClass) ? LegacyMappings.load(targetClass) : null;
+        Map<String, T> constantsByName = legacy == null ? null : constantsByName();
+        Map<Long, T> legacyCodes = legacy == null ? Collections.<Long, T>emptyMap() :
+                resolveLegacy(legacy.getCodes(), constantsByName);
+        Map<String, T> legacyNameMap = legacy == null ? Collections.<String, T>emptyMap() :
+                resolveLegacy(legacy.getNames(), constantsByName);
+        // Try to find JsonCreator method first, look up the codes of the single integral field as fallback
+        LongFunction<T> intCreator = findIntCreatorMethod();
+        this.intFromCreator = intCreator != null;
+        if (intCreator != null) {
+            this.legacyCodeIndex = legacyCodes.isEmpty() ? null : IntCodeIndex.build(constants,
+                    legacyCodes.values().toArray(Arrays.copyOf(constants, 0)),
+                    legacyCodes.keySet().stream().mapToLong(Long::longValue).toArray());
+            this.createFromInt = withLegacyCodes(intCreator, legacyCodeIndex);
+            this.codeIndex = null;
+            this.codes = fieldCodes != null && readsBack(intCreator, fieldCodes) ? fieldCodes : null;
+        } else {
+            // legacy codes go into the same index as the codes of the field, so they cost no more to look up
+            this.codeIndex = fieldCodes == null && legacyCodes.isEmpty() ? null :
+                    buildCodeIndex(codeField, fieldCodes, legacyCodes);
+            this.legacyCodeIndex = null;
+            this.createFromInt = codeIndex == null ? null : codeIndex::get;
+            this.codes = fieldCodes;
+        }
+        this.stringCreator = findStringCreator();
+        this.names = buildNameIndex(legacyNameMap);
+        this.legacyNames = stringCreator == null || legacyNameMap.isEmpty() ? null :
+                NameIndex.build(constants, legacyNameMap.values().toArray(Arrays.copyOf(constants, 0)),
+                        legacyNameMap.keySet().toArray(new String[0]));
+        this.defaultConstant = findDefaultConstant();
+        this.creatorMisses = intFromCreator && isPureIntCreator() ? new NegativeCache() : null;
+        this.creatorResults = stringCreator != null ? buildCreatorCache() : null;
+        this.serializedNames = buildSerializedNames();
+    }
+
+    /**
+     * Get the shared resolution for an enum class, resolving it on first use
+     * @param targetClass the enum class
+     * @param <T> the enum type
+     * @return the resolution for the class
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<?>> EnumResolution<T> forClass(Class<T> targetClass) {
+        return (EnumResolution<T>) CACHE.get(targetClass).get();
+    }
+
+    /**
+     * @param targetClass the enum class
+     * @return whether the enum has legacy mappings, without resolving it, so that deserializers can check it before
+     * using a generated lookup, which doesn't know them
+     */
+    static boolean hasLegacyMappings(Class<?> targetClass) {
+        return LEGACY_MAPPINGS.get(targetClass);
+    }
+
+    private static boolean hasClass(String name) {
+        try {
+            Class.forName(name, false, EnumResolution.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    Class<T> getTargetClass() {
+        return targetClass;
+    }
+
+    T fromInt(long value) {
+        if (createFromInt == null) {
+            throw new IllegalArgumentException("couldn't figure out any deserialization method from int for class " +
+                    targetClass.getCanonicalName());
+        }
+        if (creatorMisses == null) {
+            return createFromInt.apply(value);
+        }
+        if (creatorMisses.containsCode(value)) {
+            return null;
+        }
+        T result = createFromInt.apply(value);
+        if (result == null) {
+            creatorMisses.addCode(value);
+        }
+        return result;
+    }
+
+    /**
+     * @return whether the enum can be created from a code at all
+     */
+    boolean canCreateFromInt() {
+        return createFromInt != null;
+    }
+
+    /**
+     * @return the constant annotated with {@link JsonEnumDefaultValue}, null if there isn't one
+     */
+    T getDefaultConstant() {
+        return defaultConstant;
+    }
+
+    /**
+     * @return whether constants can be written as codes that read back as the same constant
+     */
+    boolean hasCodes() {
+        return codes != null;
+    }
+
+    /**
+     * @param ordinal ordinal of a constant
+     * @return the code of the constant, only valid if {@link #hasCodes()}
+     */
+    long getCode(int ordinal) {
+        return codes[ordinal];
+    }
+
+    /**
+     * @param ordinal ordinal of a constant
+     * @return the name to write for the constant
+     */
+    SerializableString getSerializedName(int ordinal) {
+        return serializedNames[ordinal];
+    }
+
+    /**
+     * @return whether strings are passed to a JsonCreator instead of being matched by name
+     */
+    boolean hasStringCreator() {
+        return stringCreator != null;
+    }
+
+    /**
+     * @return the index of the codes of the integral field and legacy codes, null if codes are passed to an int
+     * creator or the enum has no codes
+     */
+    IntCodeIndex<T> getCodeIndex() {
+        return codeIndex;
+    }
+
+    /**
+     * @return the index of names, renames, aliases and legacy names, not used if the enum has a string creator
+     */
+    NameIndex<T> getNames() {
+        return names;
+    }
+
+    /**
+     * @return the constants string instances resolved to, see {@link #fromText(String)}
+     */
+    SharedStringCache<T> getSharedStrings() {
+        return sharedStrings;
+    }
+
+    T fromString(String value, boolean ignoreCase) {
+        if (stringCreator != null) {
+            return fromStringCreator(value);
+        }
+        return ignoreCase ? names.getIgnoreCase(value) : names.get(value);
+    }
+
+    T fromString(char[] buf, int offset, int length, boolean ignoreCase) {
+        if (stringCreator != null) {
+            return fromStringCreator(new String(buf, offset, length));
+        }
+        return ignoreCase ? names.getIgnoreCase(buf, offset, length) : names.get(buf, offset, length);
+    }
+
+    /**
+     * Find the constant for text the parser already holds as a string: a code if it is numeric, a name otherwise. Field
+     * names and strings that binary formats refer back to are the same instance every time, so what names and field
+     * codes resolve to is remembered per instance. Text passed to a creator isn't: a creator may return a different
+     * constant for the same text, and is only memoized, by {@link #fromStringCreator(String)}, when declared pure.
+     * @param text the text
+     * @return the constant, or null if no constant matches
+     */
+    T fromText(String text) {
+        SharedStringCache.Entry<T> entry = sharedStrings.get(text);
+        if (entry != null) {
+            return entry.value;
+        }
+        long code = NumericText.parse(text);
+        if (code != NumericText.NOT_NUMERIC ? intFromCreator : stringCreator != null) {
+            return code != NumericText.NOT_NUMERIC ? fromInt(code) : fromStringCreator(text);
+        }
+        T value = code != NumericText.NOT_NUMERIC ? fromInt(code) : names.get(text);
+        sharedStrings.put(text, value);
+        return value;
+    }
+
+    /**
+     * @return hits and misses of the memo in front of the string creator, null if there isn't one
+     */
+    CreatorCacheStats getCreatorCacheStats() {
+        return creatorResults == null ? null : creatorResults.getStats();
+    }
+
+    /**
+     * Estimate the heap the resolution takes: its lookup tables, caches and the strings they own. The constants, their
+     * names and the annotations they were read from belong to the enum class, and the bytecode the JVM spins up behind
+     * bound creators isn't visible from here, so neither is counted.
+     * @return estimated bytes
+     */
+    long footprint() {
+        long size = Footprints.object(15, 1) + Footprints.array(constants.length, Footprints.REFERENCE) +
+                sharedStrings.footprint();
+        // bound creators are a small lambda object each, as is the wrapper looking legacy codes up first
+        size += intFromCreator ? Footprints.object(1, 0) : 0;
+        size += legacyCodeIndex != null ? Footprints.object(2, 0) + legacyCodeIndex.footprint() : 0;
+        size += stringCreator != null ? Footprints.object(1, 0) : 0;
+        size += codeIndex != null ? Footprints.object(1, 0) + codeIndex.footprint() : 0;
+        size += names.footprint() + (legacyNames != null ? legacyNames.footprint() : 0);
+        size += creatorMisses != null ? creatorMisses.footprint() : 0;
+        size += creatorResults != null ? creatorResults.footprint() : 0;
+        size += codes != null ? Footprints.array(codes.length, 8) : 0;
+        size += Footprints.array(serializedNames.length, Footprints.REFERENCE) +
+                serializedNames.length * Footprints.object(4, 0);
+        return size;
+    }
+
+    /**
+     * Pass a string that isn't a number to the string creator, only valid if {@link #hasStringCreator()}
+     * @param value the string
+     * @return the constant, or null if the creator didn't return one
+     */
+    T fromStringCreator(String value) {
+        T legacy = legacyNames == null ? null : legacyNames.get(value);
+        if (legacy != null) {
+            return legacy;
+        }
+        if (creatorResults != null) {
+            StringCreatorCache.Entry<T> entry = creatorResults.get(value);
+            if (entry != null) {
+                return entry.value;
+            }
+            T result = stringCreator.apply(value);
+            creatorResults.put(value, result);
+            return result;
+        }
+        return stringCreator.apply(value);
+    }
+
+    private Function<String, T> findStringCreator() {
+        // Try to find JsonCreator method first, if there isn't one match by name instead
+        Method stringCreator = findStringCreatorMethod();
+        return stringCreator == null ? null : CreatorInvokers.bindString(stringCreator);
+    }
+
+    private boolean isPureIntCreator() {
+        EnumDeserializerOptions options = targetClass.getAnnotation(EnumDeserializerOptions.class);
+        return options != null && options.pureIntCreator();
+    }
+
+    private StringCreatorCache<T> buildCreatorCache() {
+        EnumDeserializerOptions options = targetClass.getAnnotation(EnumDeserializerOptions.class);
+        return options != null && options.pureStringCreator() ?
+                new StringCreatorCache<>(options.stringCreatorCacheSize()) : null;
+    }
+
+    private NameIndex<T> buildNameIndex(Map<String, T> legacyNames) {
+        // explicit names (renames and aliases) first, they have to be unambiguous
+        Map<String, T> explicitNames = new LinkedHashMap<>();
+        for (T e : constants) {
+            for (String name : findExplicitNames(e)) {
+                putUnambiguous(explicitNames, name, e);
+            }
+        }
+        // legacy names can't take the name of another constant either
+        for (Map.Entry<String, T> legacy : legacyNames.entrySet()) {
+            putUnambiguous(explicitNames, legacy.getKey(), legacy.getValue());
+            for (T e : constants) {
+                if (e.name().equals(legacy.getKey()) && e != legacy.getValue()) {
+                    throw new IllegalArgumentException("legacy name " + legacy.getKey() + " of " +
+                            legacy.getValue() + " is the name of " + e + " of " + targetClass.getCanonicalName());
+                }
+            }
+        }
+        List<T> indexed = new ArrayList<>(explicitNames.values());
+        List<String> indexedNames = new ArrayList<>(explicitNames.keySet());
+        // then the names of the constants themselves, unless a rename or alias already uses the name
+        for (T e : constants) {
+            indexed.add(e);
+            indexedNames.add(e.name());
+        }
+        return NameIndex.build(constants, indexed.toArray(Arrays.copyOf(constants, 0)),
+                indexedNames.toArray(new String[0]));
+    }
+
+    private void putUnambiguous(Map<String, T> names, String name, T e) {
+        T previous = names.putIfAbsent(name, e);
+        if (previous != null && previous != e) {
+            throw new IllegalArgumentException("enum constants " + previous + " and " + e + " of " +
+                    targetClass.getCanonicalName() + " share the same name " + name);
+        }
+    }
+
+    /**
+     * @return each constant by its declared name, which legacy mappings refer to it by
+     */
+    private Map<String, T> constantsByName() {
+        Map<String, T> byName = new HashMap<>();
+        for (T e : constants) {
+            byName.put(e.name(), e);
+        }
+        return byName;
+    }
+
+    /**
+     * Replace the constant names of legacy mappings with the constants
+     * @param mappings constant name by legacy code or name
+     * @param constantsByName see {@link #constantsByName()}
+     */
+    private <K> Map<K, T> resolveLegacy(Map<K, String> mappings, Map<String, T> constantsByName) {
+        Map<K, T> resolved = new LinkedHashMap<>();
+        for (Map.Entry<K, String> mapping : mappings.entrySet()) {
+            T constant = constantsByName.get(mapping.getValue());
+            if (constant == null) {
+                throw new IllegalArgumentException("legacy mapping " + mapping.getKey() + " of " +
+                        targetClass.getCanonicalName() + " refers to unknown constant " + mapping.getValue());
+            }
+            resolved.put(mapping.getKey(), constant);
+        }
+        return resolved;
+    }
+
+    /**
+     * Look legacy codes up before calling the int creator, which doesn't know them
+     */
+    private static <T> LongFunction<T> withLegacyCodes(LongFunction<T> intCreator, IntCodeIndex<T> legacy) {
+        if (legacy == null) {
+            return intCreator;
+        }
+        return value -> {
+            T e = legacy.get(value);
+            return e != null ? e : intCreator.apply(value);
+        };
+    }
+
+    private SerializableString[] buildSerializedNames() {
+        SerializableString[] serialized = new SerializableString[constants.length];
+        for (T e : constants) {
+            String rename = findRename(e);
+            serialized[e.ordinal()] = new SerializedString(rename != null ? rename : e.name());
+        }
+        return serialized;
+    }
+
+    private T findDefaultConstant() {
+        if (!HAS_JSON_ENUM_DEFAULT_VALUE) {
+            return null;
+        }
+        for (T e : constants) {
+            Field field = findConstantField(e);
+            if (field != null && JsonEnumDefaultValues.isDefault(field)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private Field findConstantField(T e) {
+        try {
+            return targetClass.getDeclaredField(e.name());
+        } catch (NoSuchFieldException ex) {
+            return null;
+        }
+    }
+
+    private String findRename(T e) {
+        Field field = findConstantField(e);
+        JsonProperty property = field == null ? null : field.getAnnotation(JsonProperty.class);
+        return property != null && !property.value().isEmpty() ? property.value() : null;
+    }
+
+    private List<String> findExplicitNames(T e) {
+        List<String> names = new ArrayList<>();
+        String rename = findRename(e);
+        if (rename != null) {
+            names.add(rename);
+        }
+        Field field = findConstantField(e);
+        if (HAS_JSON_ALIAS && field != null) {
+            names.addAll(JsonAliases.find(field));
+        }
+        return names;
+    }
+
+    private Stream<Method> findCreatorMethods() {
+        return Arrays.stream(targetClass.getMethods())
+                .filter(method -> method.getAnnotation(JsonCreator.class) != null &&
+                        Modifier.isStatic(method.getModifiers()) &&
+                        targetClass.isAssignableFrom(method.getReturnType()));
+    }
+
+    private Method findStringCreatorMethod() {
+        return findCreatorMethods()
+                .filter(method -> {
+                    Class<?>[] params = method.getParameterTypes();
+                    return params.length == 1 && params[0].isAssignableFrom(String.class);
+                })
+                .findFirst()
+                .orElse(null);
+    }
+
+    private LongFunction<T> findIntCreatorMethod() {
+        return findCreatorMethods().<LongFunction<T>>map(method -> {
+            Class<?>[] params = method.getParameterTypes();
+            if (params.length != 1) {
+                return null;
+            }
+            if (params[0].isAssignableFrom(long.class) || params[0].isAssignableFrom(int.class) ||
+                    params[0].isAssignableFrom(short.class)) {
+                return CreatorInvokers.<T>bindIntegral(method);
+            }
+            return null;
+        }).filter(creator -> creator != null).findFirst().orElse(null);
+    }
+
+    private Field findOnlyIntField() {
+        List<Field> fields = Arrays.stream(targetClass.getDeclaredFields())
+                .filter(field -> field.getType().isAssignableFrom(short.class) ||
+                        field.getType().isAssignableFrom(int.class) ||
+                        field.getType().isAssignableFrom(long.class))
+                .limit(2)
+                .collect(Collectors.toList());
+        if (fields.size() == 1) {
+            Field field = fields.get(0);
+            field.setAccessible(true);
+            return field;
+        }
+        if (isDebugEnabled()) {
+            if (fields.size() == 0) {
+                Log.LOG.debug("no integral fields on the enum class");
+            } else {
+                Log.LOG.debug("multiple integral fields on the enum class, couldn't determine which one to use: " +
+                        fields.stream().map(Field::getName).collect(Collectors.joining(", ")));
+            }
+        }
+        return null;
+    }
+
+    private long[] readCodes(Field field) {
+        long[] fieldCodes = new long[constants.length];
+        for (T e : constants) {
+            try {
+                fieldCodes[e.ordinal()] = field.getLong(e);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return fieldCodes;
+    }
+
+    private IntCodeIndex<T> buildCodeIndex(Field field, long[] fieldCodes, Map<Long, T> legacyCodes) {
+        List<T> indexed = new ArrayList<>();
+        List<Long> indexedCodes = new ArrayList<>();
+        if (fieldCodes != null) {
+            for (T e : constants) {
+                indexed.add(e);
+                indexedCodes.add(fieldCodes[e.ordinal()]);
+            }
+        }
+        for (Map.Entry<Long, T> legacy : legacyCodes.entrySet()) {
+            indexed.add(legacy.getValue());
+            indexedCodes.add(legacy.getKey());
+        }
+        try {
+            return IntCodeIndex.build(constants, indexed.toArray(Arrays.copyOf(constants, 0)),
+                    indexedCodes.stream().mapToLong(Long::longValue).toArray());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("can't deserialize " + targetClass.getCanonicalName() +
+                    " from int using " + (field == null ? "legacy codes" : "field " + field.getName()) + ": " +
+                    ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Whether the int creator maps every field code back to its own constant, so that writing the codes can't drift
+     * from reading them
+     */
+    private boolean readsBack(LongFunction<T> intCreator, long[] fieldCodes) {
+        for (T e : constants) {
+            try {
+                if (intCreator.apply(fieldCodes[e.ordinal()]) != e) {
+                    if (isDebugEnabled()) {
+                        Log.LOG.debug("int creator doesn't read back code of {}, writing names instead", e);
+                    }
+                    return false;
+                }
+            } catch (RuntimeException ex) {
+                if (isDebugEnabled()) {
+                    Log.LOG.debug("int creator doesn't read back code of {}, writing names instead", e, ex);
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Kept separate so that {@link JsonAlias} is only loaded when it exists
+     */
+    private static final class JsonAliases {
+        static List<String> find(Field field) {
+            JsonAlias alias = field.getAnnotation(JsonAlias.class);
+            return alias == null ? Collections.<String>emptyList() : Arrays.asList(alias.value());
+        }
+    }
+
+    /**
+     * Kept separate so that {@link JsonEnumDefaultValue} is only loaded when it exists
+     */
+    private static final class JsonEnumDefaultValues {
+        static boolean isDefault(Field field) {
+            return field.getAnnotation(JsonEnumDefaultValue.class) != null;
+        }
+    }
+
+    private static boolean isDebugEnabled() {
+        return !NativeImageSupport.isBuildingImage() && Log.LOG.isDebugEnabled();
+    }
+
+    /**
+     * Holds the logger, so that initializing this class while a native image is built doesn't initialize slf4j and its
+     * backend along with it
+     */
+    private static final class Log {
+        static final Logger LOG = LoggerFactory.getLogger(EnumResolution.class);
+    }
+
+    /**
+     * Resolution of one class that is computed by the first thread asking for it. Threads arriving while it is being
+     * computed wait for that result instead of repeating the reflection, without holding a monitor, and once it is done
+     * every call is a single volatile read. A failure is remembered as well, so an enum the deserializer can't handle
+     * isn't inspected again on every call. Enums pre-resolved with {@link NativeImageSupport} start out resolved.
+     */
+    private static final class Pending<T extends Enum<?>> {
+        private final Class<T> targetClass;
+        private final FutureTask<EnumResolution<T>> task;
+        private volatile EnumResolution<T> resolution;
+
+        /**
+         * @param type the class looked up, always an enum since only enum classes are resolved
+         */
+        @SuppressWarnings("unchecked")
+        static <T extends Enum<?>> Pending<T> forType(Class<?> type) {
+            return new Pending<>((Class<T>) type);
+        }
+
+        @SuppressWarnings("unchecked")
+        private Pending(Class<T> targetClass) {
+            this.targetClass = targetClass;
+            this.task = new FutureTask<>(() -> new EnumResolution<>(targetClass));
+            NativeImageSupport.PreResolved preResolved = NativeImageSupport.find(targetClass);
+            this.resolution = preResolved == null ? null : (EnumResolution<T>) preResolved.getResolution();
+            if (resolution != null) {
+                Footprints.register(targetClass);
+            }
+        }
+
+        EnumResolution<T> get() {
+            EnumResolution<T> result = resolution;
+            if (result != null) {
+                return result;
+            }
+            if (!task.isDone() && !NativeImageSupport.mayReflect()) {
+                throw NativeImageSupport.notPreResolved(targetClass);
+            }
+            // only the first caller runs the task, later callers return immediately and wait in get()
+            task.run();
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        result = task.get();
+                        break;
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                // rethrow a fresh exception so that callers don't share (and add suppressed exceptions to) one instance
+                throw new IllegalArgumentException(cause.getMessage(), cause);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            resolution = result;
+            Footprints.register(targetClass);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer writing enums the way {@link EnumDeserializer} reads them. Enums whose single integral field holds codes
+ * that read back as the same constant are written as those codes, all other enums by name (or by their
+ * {@link com.fasterxml.jackson.annotation.JsonProperty} rename).
+ *
+ * <p>A property can pick the output with {@link JsonFormat}: {@code shape = STRING} always writes names,
+ * {@code shape = NUMBER} or {@code NUMBER_INT} always writes codes and fails for enums that don't have any.
+ */
+public class EnumSerializer extends JsonSerializer<Enum<?>> implements ContextualSerializer {
+
+    /**
+     * What to write for a constant
+     */
+    private enum Output {
+        CODE_IF_AVAILABLE,
+        CODE,
+        NAME
+    }
+
+    private final Output output;
+    /**
+     * The enum the tables are for, null until the serializer is contextualized for a property of an enum type
+     */
+    private final Class<?> enumClass;
+    /**
+     * Code to write for each constant by ordinal, null to write names
+     */
+    private final long[] codes;
+    /**
+     * Name to write for each constant by ordinal
+     */
+    private final SerializableString[] names;
+    /**
+     * Serializer resolved for the enum of the last value written by a serializer without an enum, see
+     * {@link #serialize}
+     */
+    private volatile EnumSerializer lastResolved;
+
+    public EnumSerializer() {
+        this(Output.CODE_IF_AVAILABLE, null);
+    }
+
+    private EnumSerializer(Output output, Class<?> enumClass) {
+        super();
+        this.output = output;
+        this.enumClass = enumClass;
+        if (enumClass == null) {
+            this.codes = null;
+            this.names = null;
+        } else {
+            EnumResolution<?> resolution = EnumResolution.forClass((Class) enumClass);
+            int constants = enumClass.getEnumConstants().length;
+            this.codes = output != Output.NAME && resolution.hasCodes() ? new long[constants] : null;
+            this.names = new SerializableString[constants];
+            for (int ordinal = 0; ordinal < constants; ordinal++) {
+                if (codes != null) {
+                    codes[ordinal] = resolution.getCode(ordinal);
+                }
+                names[ordinal] = resolution.getSerializedName(ordinal);
+            }
+        }
+    }
+
+    /**
+     * @param enumClass the enum
+     * @return a serializer writing the enum with the tables resolved up front
+     */
+    static EnumSerializer forEnum(Class<?> enumClass) {
+        return new EnumSerializer(Output.CODE_IF_AVAILABLE, enumClass);
+    }
+
+    @Override
+    public void serialize(Enum<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Class<?> valueClass = value.getDeclaringClass();
+        if (valueClass != enumClass) {
+            // not contextualized for this enum: root-level values, whose property isn't known, or properties not
+            // declared as the enum. Values of one enum usually come in a row, so the last resolution is kept.
+            EnumSerializer resolved = lastResolved;
+            if (resolved == null || resolved.enumClass != valueClass) {
+                resolved = new EnumSerializer(output, valueClass);
+                lastResolved = resolved;
+            }
+            resolved.serialize(value, gen, provider);
+            return;
+        }
+        int ordinal = value.ordinal();
+        if (codes != null) {
+            gen.writeNumber(codes[ordinal]);
+        } else if (output == Output.CODE) {
+            throw new JsonMappingException("can't write " + valueClass.getCanonicalName() +
+                    " as a number because it doesn't have codes that read back as the same constant");
+        } else {
+            gen.writeString(names[ordinal]);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+            throws JsonMappingException {
+        if (property == null) {
+            return this;
+        }
+        JsonFormat format = property.getAnnotation(JsonFormat.class);
+        Output propertyOutput = output;
+        if (format != null && format.shape() == JsonFormat.Shape.STRING) {
+            propertyOutput = Output.NAME;
+        } else if (format != null && (format.shape() == JsonFormat.Shape.NUMBER ||
+                format.shape() == JsonFormat.Shape.NUMBER_INT)) {
+            propertyOutput = Output.CODE;
+        }
+        // the property may hold the enum, or a collection or reference of it
+        JavaType type = property.getType();
+        if (!type.isEnumType() && type.getContentType() != null) {
+            type = type.getContentType();
+        }
+        Class<?> propertyClass = type.isEnumType() ? type.getRawClass() : null;
+        if (propertyOutput == output && propertyClass == enumClass) {
+            return this;
+        }
+        return new EnumSerializer(propertyOutput, propertyClass);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cvent.enumdeserializer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes an {@link java.util.EnumSet} property as a bitmask instead of an array of constants: a single number for enums
+ * that fit in 64 bits, an array of 64-bit words (lowest bits first) nested in an array for larger ones, e.g.
+ * {@code [[1, 68719476736]]}. Reading still accepts the array of constants, by name or code, whatever the size of the
+ * mask.
+ *
+ * <p>Needs {@link EnumSetSerializer} to write the property and {@link EnumSetDeserializer} to read it, either through
+ * {@link com.fasterxml.jackson.databind.annotation.JsonSerialize} and
+ * {@link com.fasterxml.jackson.databind.annotation.JsonDeserialize} or, for reading, {@link EnumDeserializerModule}.
+ */
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EnumSetBitmask {
+
+    /**
+     * Which bit stands for a constant
+     */
+    enum Key {
+        /**
+         * The bit at the ordinal of the constant
+         */
+        ORDINAL,
+        /**
+         * The bit at the code in the single integral field of the enum, which has to be between 0 and 4095 and read back
+         * as the same constant
+         */
+        CODE
+    }
+
+    /**
+     * @return which bit stands for a constant
+     */
+    Key key() default Key.ORDINAL;
+}
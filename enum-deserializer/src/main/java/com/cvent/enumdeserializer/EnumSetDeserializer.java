@@ -0,0 +1,130 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+/**
+ * Reads JSON arrays into an {@link EnumSet}, which is itself a bitset of ordinals, reading every element with the
+ * contextual {@link EnumDeserializer} for the enum. Elements that are null or don't match any constant are left out.
+ * Properties annotated with {@link EnumSetBitmask} are also read from bitmasks, a number or an array of words nested in
+ * an array.
+ *
+ * <p>{@link EnumDeserializerModule} uses it for every {@link EnumSet} of the enums it applies to; it can also be put on
+ * a property with {@link com.fasterxml.jackson.databind.annotation.JsonDeserialize}.
+ */
+public class EnumSetDeserializer extends JsonDeserializer<EnumSet<?>> implements ContextualDeserializer {
+
+    /**
+     * The enum of the elements, null to determine it from the context
+     */
+    private final Class<? extends Enum> enumClass;
+    private final JsonDeserializer<?> elementDeserializer;
+    private final BitmaskCodec<?> bitmask;
+
+    public EnumSetDeserializer() {
+        this(null);
+    }
+
+    EnumSetDeserializer(Class<? extends Enum> enumClass) {
+        this(enumClass, null, null);
+    }
+
+    private EnumSetDeserializer(Class<? extends Enum> enumClass, JsonDeserializer<?> elementDeserializer,
+                                BitmaskCodec<?> bitmask) {
+        super();
+        this.enumClass = enumClass;
+        this.elementDeserializer = elementDeserializer;
+        this.bitmask = bitmask;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+            throws JsonMappingException {
+        Class<? extends Enum> elementClass = enumClass;
+        if (elementClass == null) {
+            JavaType type = property != null ? property.getType() : ctxt.getContextualType();
+            JavaType contentType = type == null ? null : type.getContentType();
+            if (contentType == null || !contentType.isEnumType()) {
+                throw new IllegalArgumentException("can't determine the enum of EnumSet " + type);
+            }
+            elementClass = (Class<? extends Enum>) contentType.getRawClass();
+        }
+        EnumSetBitmask bitmaskFormat = property == null ? null : property.getAnnotation(EnumSetBitmask.class);
+        BitmaskCodec<?> codec = bitmaskFormat == null ? null :
+                BitmaskCodec.build(EnumResolution.forClass((Class) elementClass), bitmaskFormat.key());
+        // options on the property apply to the elements
+        return new EnumSetDeserializer(elementClass,
+                new EnumDeserializer(elementClass).createContextual(ctxt, property), codec);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public EnumSet<?> deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException,
+            JsonProcessingException {
+        EnumSet set = EnumSet.noneOf(enumClass);
+        JsonToken curr = jp.getCurrentToken();
+        if (bitmask != null && curr == JsonToken.VALUE_NUMBER_INT) {
+            bitmask.decode(jp.getLongValue(), 0, set);
+            return set;
+        }
+        if (curr != JsonToken.START_ARRAY) {
+            throw new JsonMappingException("expected an array for EnumSet of " + enumClass.getName(),
+                    jp.getCurrentLocation());
+        }
+        curr = jp.nextToken();
+        // constants are never arrays, so a nested array can only be the words of a mask
+        if (bitmask != null && curr == JsonToken.START_ARRAY) {
+            readWords(jp, set);
+            if (jp.nextToken() != JsonToken.END_ARRAY) {
+                throw new JsonMappingException("expected only the words of the bitmask of " + enumClass.getName(),
+                        jp.getCurrentLocation());
+            }
+            return set;
+        }
+        for (; curr != JsonToken.END_ARRAY; curr = jp.nextToken()) {
+            if (curr == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            Object element = elementDeserializer.deserialize(jp, ctxt);
+            if (element != null) {
+                set.add(element);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Read the words of a mask, the parser being on the array holding them
+     */
+    private void readWords(JsonParser jp, EnumSet set) throws IOException {
+        int index = 0;
+        for (JsonToken curr = jp.nextToken(); curr != JsonToken.END_ARRAY; curr = jp.nextToken()) {
+            if (curr != JsonToken.VALUE_NUMBER_INT) {
+                throw new JsonMappingException("expected only numbers in the bitmask of " + enumClass.getName(),
+                        jp.getCurrentLocation());
+            }
+            // words past the end of the mask can't hold any constant
+            if (index < bitmask.getWords()) {
+                bitmask.decode(jp.getLongValue(), index, set);
+            }
+            index++;
+        }
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser jp, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+            throws IOException, JsonProcessingException {
+        return typeDeserializer.deserializeTypedFromArray(jp, ctxt);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+
+import java.io.IOException;
+import java.util.EnumSet;
+
+/**
+ * Serializer writing an {@link EnumSet} as an array of constants written the way {@link EnumSerializer} writes them,
+ * or, for properties annotated with {@link EnumSetBitmask}, as a bitmask.
+ */
+public class EnumSetSerializer extends JsonSerializer<EnumSet<?>> implements ContextualSerializer {
+
+    private final EnumSerializer elementSerializer;
+    private final BitmaskCodec<?> bitmask;
+
+    public EnumSetSerializer() {
+        this(new EnumSerializer(), null);
+    }
+
+    private EnumSetSerializer(EnumSerializer elementSerializer, BitmaskCodec<?> bitmask) {
+        super();
+        this.elementSerializer = elementSerializer;
+        this.bitmask = bitmask;
+    }
+
+    @Override
+    public void serialize(EnumSet<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (bitmask == null) {
+            gen.writeStartArray();
+            for (Enum<?> e : value) {
+                elementSerializer.serialize(e, gen, provider);
+            }
+            gen.writeEndArray();
+            return;
+        }
+        long[] mask = bitmask.encode(value);
+        if (mask.length == 1) {
+            gen.writeNumber(mask[0]);
+        } else {
+            // nested, so that the words can't be taken for an array of codes
+            gen.writeStartArray();
+            gen.writeStartArray();
+            for (long word : mask) {
+                gen.writeNumber(word);
+            }
+            gen.writeEndArray();
+            gen.writeEndArray();
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+            throws JsonMappingException {
+        if (property == null) {
+            return this;
+        }
+        EnumSetBitmask format = property.getAnnotation(EnumSetBitmask.class);
+        JavaType contentType = property.getType().getContentType();
+        if (contentType == null || !contentType.isEnumType()) {
+            if (format != null) {
+                throw new IllegalArgumentException("can't determine the enum of EnumSet " + property.getType());
+            }
+            return this;
+        }
+        Class<?> enumClass = contentType.getRawClass();
+        return format == null ? new EnumSetSerializer(EnumSerializer.forEnum(enumClass), null) :
+                new EnumSetSerializer(elementSerializer, BitmaskCodec.build(EnumResolution.forClass((Class) enumClass),
+                        format.key()));
+    }
+}
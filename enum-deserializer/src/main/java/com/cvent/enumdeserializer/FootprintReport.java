@@ -0,0 +1,46 @@
+package com.cvent.enumdeserializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Estimated heap the deserializer retains for every enum resolved so far, see {@link EnumDeserializer#getFootprint()}.
+ * Caches fill up as values are read, so a report taken under production traffic is the one to size heaps with.
+ */
+public final class FootprintReport {
+    private final List<EnumFootprint> enums;
+    private final long totalBytes;
+
+    FootprintReport(List<EnumFootprint> enums) {
+        List<EnumFootprint> sorted = new ArrayList<>(enums);
+        sorted.sort(Comparator.comparingLong(EnumFootprint::getRetainedBytes).reversed()
+                .thenComparing(footprint -> footprint.getEnumClass().getName()));
+        long total = 0;
+        for (EnumFootprint footprint : sorted) {
+            total += footprint.getRetainedBytes();
+        }
+        this.enums = Collections.unmodifiableList(sorted);
+        this.totalBytes = total;
+    }
+
+    /**
+     * @return the footprint of each enum, largest first
+     */
+    public List<EnumFootprint> getEnums() {
+        return enums;
+    }
+
+    /**
+     * @return estimated bytes retained for all enums together
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "FootprintReport{enums=" + enums.size() + ", totalBytes=" + totalBytes + "}";
+    }
+}
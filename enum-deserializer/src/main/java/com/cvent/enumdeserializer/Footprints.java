@@ -0,0 +1,72 @@
+package com.cvent.enumdeserializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shallow size estimates for the tables the deserializer keeps per enum, and the registry of enums they are kept for.
+ *
+ * <p>Sizes assume the layout of a 64-bit HotSpot JVM with compressed references and class pointers, the default below
+ * 32 GB of heap: 12-byte object headers, 16-byte array headers, 4-byte references and objects padded to 8 bytes. Only
+ * what the deserializer allocated is counted; the constants themselves and strings they own, like their names, belong to
+ * the enum.
+ */
+final class Footprints {
+    static final int REFERENCE = 4;
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int ALIGNMENT = 8;
+
+    /**
+     * Enums resolved in this process, weakly so that unloaded enums drop out
+     */
+    private static final Map<Class<?>, Boolean> RESOLVED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private Footprints() {
+    }
+
+    /**
+     * @param references number of reference fields
+     * @param primitiveBytes bytes taken by primitive fields
+     * @return estimated size of an object
+     */
+    static long object(int references, int primitiveBytes) {
+        return align(OBJECT_HEADER + (long) references * REFERENCE + primitiveBytes);
+    }
+
+    /**
+     * @param length number of elements
+     * @param elementBytes size of each element, {@link #REFERENCE} for object arrays
+     * @return estimated size of an array
+     */
+    static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+
+    /**
+     * @param text the string
+     * @return estimated size of a string and its characters, counting one byte per char as compact strings do for
+     *     Latin-1 text
+     */
+    static long string(String text) {
+        return object(2, 5) + array(text.length(), 1);
+    }
+
+    static void register(Class<?> enumClass) {
+        RESOLVED.put(enumClass, Boolean.TRUE);
+    }
+
+    static List<Class<?>> resolved() {
+        synchronized (RESOLVED) {
+            return new ArrayList<>(RESOLVED.keySet());
+        }
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,16 @@
+package com.cvent.enumdeserializer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an enum for the {@code enum-deserializer-processor} annotation processor, which generates a
+ * {@link GeneratedEnumLookup} for it at compile time. {@link EnumDeserializer} picks up the generated class instead of
+ * resolving the enum with reflection.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface GenerateEnumDeserializer {
+}
@@ -0,0 +1,37 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Lookup generated at compile time for an enum annotated with {@link GenerateEnumDeserializer}, following the same
+ * rules {@link EnumDeserializer} applies with reflection. Implementations are named after the enum: the simple names of
+ * the enum and the classes it is nested in joined by underscores, followed by {@value #CLASS_NAME_SUFFIX}, in the
+ * package of the enum.
+ *
+ * @param <T> the enum type
+ */
+public interface GeneratedEnumLookup<T extends Enum<?>> {
+
+    /**
+     * Suffix of the name of generated classes
+     */
+    String CLASS_NAME_SUFFIX = "_EnumLookup";
+
+    /**
+     * @return whether the enum can be created from a code
+     */
+    boolean hasCodes();
+
+    /**
+     * Create the enum from a code
+     * @param code the code
+     * @return the constant, or null if no constant has that code
+     * @throws IllegalArgumentException if the enum can't be created from a code
+     */
+    T fromCode(long code);
+
+    /**
+     * Create the enum from a string that isn't a number
+     * @param name the string
+     * @return the constant, or null if no constant has that name
+     */
+    T fromName(String name);
+}
@@ -0,0 +1,65 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Finds the {@link GeneratedEnumLookup} generated for an enum, if there is one
+ */
+final class GeneratedLookups {
+
+    /**
+     * Cache of generated lookups by enum class. Holds {@link #NONE} for enums without one, since a class value can't
+     * hold null.
+     */
+    private static final ClassValue<Object> CACHE = new ClassValue<Object>() {
+        @Override
+        protected Object computeValue(Class<?> type) {
+            NativeImageSupport.PreResolved preResolved = NativeImageSupport.find(type);
+            GeneratedEnumLookup<?> lookup = preResolved != null ? preResolved.getLookup() :
+                    NativeImageSupport.mayReflect() ? load(type) : null;
+            return lookup != null ? lookup : NONE;
+        }
+    };
+
+    private static final Object NONE = new Object();
+
+    private GeneratedLookups() {
+    }
+
+    /**
+     * @param enumClass the enum
+     * @param <T> the enum type
+     * @return the generated lookup for the enum, or null if none was generated
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Enum<?>> GeneratedEnumLookup<T> forClass(Class<T> enumClass) {
+        Object lookup = CACHE.get(enumClass);
+        return lookup == NONE ? null : (GeneratedEnumLookup<T>) lookup;
+    }
+
+    /**
+     * @param enumClass the enum
+     * @return the name of the lookup generated for the enum
+     */
+    static String generatedClassName(Class<?> enumClass) {
+        StringBuilder name = new StringBuilder(enumClass.getSimpleName());
+        for (Class<?> outer = enumClass.getEnclosingClass(); outer != null; outer = outer.getEnclosingClass()) {
+            name.insert(0, outer.getSimpleName() + "_");
+        }
+        Package pkg = enumClass.getPackage();
+        String packageName = pkg == null ? "" : pkg.getName();
+        return (packageName.isEmpty() ? "" : packageName + ".") + name + GeneratedEnumLookup.CLASS_NAME_SUFFIX;
+    }
+
+    private static GeneratedEnumLookup<?> load(Class<?> enumClass) {
+        Class<?> generated;
+        try {
+            generated = Class.forName(generatedClassName(enumClass), true, enumClass.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            return null;
+        }
+        try {
+            return (GeneratedEnumLookup<?>) generated.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException ex) {
+            throw new IllegalStateException("can't instantiate generated lookup " + generated.getName(), ex);
+        }
+    }
+}
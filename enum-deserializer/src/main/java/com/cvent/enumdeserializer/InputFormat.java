@@ -0,0 +1,34 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Which encodings {@link EnumDeserializer} accepts. By default it accepts all of them, which means checking every string
+ * for a number before matching it by name. Once every producer sends one encoding, a strict format skips that probing
+ * and rejects anything else instead of guessing. Nulls are always read as null.
+ */
+public enum InputFormat {
+    /**
+     * Use the format of the enum, or the one set in {@link EnumDeserializerConfig}, only meaningful in
+     * {@link EnumDeserializerOptions}
+     */
+    INHERIT,
+
+    /**
+     * Ints, numeric strings as codes, and names; the default
+     */
+    ANY,
+
+    /**
+     * Only strings, all matched by name (or passed to a string creator), even if they are numeric
+     */
+    NAMES_ONLY,
+
+    /**
+     * Only ints
+     */
+    CODES_ONLY,
+
+    /**
+     * Ints, and strings holding an int
+     */
+    CODES_AND_NUMERIC_STRINGS
+}
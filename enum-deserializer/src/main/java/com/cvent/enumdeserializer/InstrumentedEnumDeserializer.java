@@ -0,0 +1,78 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reports every value read by another deserializer to an {@link EnumDeserializerListener}. Only created when there is a
+ * listener, so deserializers without one don't pay for classifying the input.
+ *
+ * @param <T> the enum type
+ */
+final class InstrumentedEnumDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+    private final JsonDeserializer<T> delegate;
+    private final Class<?> enumClass;
+    private final EnumDeserializerListener listener;
+    private final int latencySampleInterval;
+    private final EnumDeserializerListener.Path stringPath;
+
+    /**
+     * @param delegate the deserializer doing the work
+     * @param enumClass the enum it reads
+     * @param listener the listener to report to
+     * @param stringCreator whether non-numeric strings are passed to a JsonCreator
+     */
+    InstrumentedEnumDeserializer(JsonDeserializer<T> delegate, Class<?> enumClass, EnumDeserializerListener listener,
+                                 boolean stringCreator) {
+        super();
+        this.delegate = delegate;
+        this.enumClass = enumClass;
+        this.listener = listener;
+        this.latencySampleInterval = listener.getLatencySampleInterval();
+        this.stringPath = stringCreator ? EnumDeserializerListener.Path.STRING_CREATOR :
+                EnumDeserializerListener.Path.NAME;
+    }
+
+    @Override
+    public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        EnumDeserializerListener.Path path = classify(jp);
+        if (path == null) {
+            // not something that can be read as an enum, the delegate reports it
+            return delegate.deserialize(jp, ctxt);
+        }
+        boolean sampled = latencySampleInterval > 0 &&
+                ThreadLocalRandom.current().nextInt(latencySampleInterval) == 0;
+        long start = sampled ? System.nanoTime() : 0;
+        T value = delegate.deserialize(jp, ctxt);
+        long nanos = sampled ? System.nanoTime() - start : 0;
+        listener.onDeserialized(enumClass, path, value != null || path == EnumDeserializerListener.Path.NULL);
+        if (sampled) {
+            listener.onLatencySample(enumClass, path, nanos);
+        }
+        return value;
+    }
+
+    private EnumDeserializerListener.Path classify(JsonParser jp) throws IOException {
+        JsonToken curr = jp.getCurrentToken();
+        if (curr == JsonToken.VALUE_NUMBER_INT) {
+            return EnumDeserializerListener.Path.INT;
+        } else if (curr == JsonToken.VALUE_NULL) {
+            return EnumDeserializerListener.Path.NULL;
+        } else if (curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME) {
+            long code = jp.hasTextCharacters() ?
+                    NumericText.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength()) :
+                    NumericText.parse(jp.getText());
+            return code != NumericText.NOT_NUMERIC ? EnumDeserializerListener.Path.NUMERIC_STRING : stringPath;
+        } else if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return EnumDeserializerListener.Path.EMBEDDED;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,154 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Lookup table from the integral code of an enum constant to the constant, built once per enum so that lookups don't
+ * need any reflection or boxing. Compact code ranges are stored as an array indexed by {@code code - min}, sparse ones
+ * in an open-addressing table keyed by the primitive code, with int keys when every code fits in an int.
+ *
+ * <p>Slots don't reference the constants: they hold the position of the constant in a shared array, usually the
+ * constants of the enum by ordinal, in an {@link OrdinalArray}.
+ *
+ * @param <T> the enum type
+ */
+final class IntCodeIndex<T> {
+    /**
+     * Code ranges up to this many slots per constant (plus some slack for tiny enums) are stored densely
+     */
+    private static final int DENSE_SLOTS_PER_CONSTANT = 4;
+    private static final int DENSE_SLACK = 64;
+
+    private final T[] universe;
+    private final OrdinalArray slots;
+    private final long min;
+    private final boolean dense;
+    private final int[] intKeys;
+    private final long[] longKeys;
+    private final int mask;
+
+    private IntCodeIndex(T[] universe, OrdinalArray slots, long min, boolean dense, int[] intKeys, long[] longKeys) {
+        this.universe = universe;
+        this.slots = slots;
+        this.min = min;
+        this.dense = dense;
+        this.intKeys = intKeys;
+        this.longKeys = longKeys;
+        this.mask = slots.length() - 1;
+    }
+
+    /**
+     * Build an index over its own array of the distinct constants
+     * @param constants the enum constants
+     * @param codes the code of each constant, in the same order as {@code constants}
+     * @param <T> the enum type
+     * @return the index
+     * @throws IllegalArgumentException if two constants share the same code
+     */
+    static <T> IntCodeIndex<T> build(T[] constants, long[] codes) {
+        return build(OrdinalArray.distinct(constants), constants, codes);
+    }
+
+    /**
+     * Build an index
+     * @param universe the array the index refers to, which has to hold every constant and must not be modified
+     * @param constants the enum constants
+     * @param codes the code of each constant, in the same order as {@code constants}
+     * @param <T> the enum type
+     * @return the index
+     * @throws IllegalArgumentException if two constants share the same code
+     */
+    static <T> IntCodeIndex<T> build(T[] universe, T[] constants, long[] codes) {
+        int[] positions = OrdinalArray.positions(universe, constants);
+        if (constants.length == 0) {
+            return new IntCodeIndex<>(universe, new OrdinalArray(0, universe.length), 0, true, null, null);
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long code : codes) {
+            min = Math.min(min, code);
+            max = Math.max(max, code);
+        }
+        // the subtraction can overflow for codes spread across the whole long range, which is as sparse as it gets
+        long range = max - min;
+        if (range >= 0 && range < (long) constants.length * DENSE_SLOTS_PER_CONSTANT + DENSE_SLACK) {
+            // sized to the actual range, so an enum coded 1000..1010 takes 11 slots
+            OrdinalArray slots = new OrdinalArray((int) range + 1, universe.length);
+            for (int i = 0; i < constants.length; i++) {
+                int slot = (int) (codes[i] - min);
+                checkDuplicate(universe, slots.get(slot), constants[i], codes[i]);
+                slots.set(slot, positions[i]);
+            }
+            return new IntCodeIndex<>(universe, slots, min, true, null, null);
+        }
+
+        int capacity = Integer.highestOneBit(constants.length * 2 - 1) << 1;
+        boolean intCodes = min >= Integer.MIN_VALUE && max <= Integer.MAX_VALUE;
+        int[] intKeys = intCodes ? new int[capacity] : null;
+        long[] longKeys = intCodes ? null : new long[capacity];
+        OrdinalArray slots = new OrdinalArray(capacity, universe.length);
+        int mask = capacity - 1;
+        for (int i = 0; i < constants.length; i++) {
+            int slot = hash(codes[i]) & mask;
+            while (slots.get(slot) != OrdinalArray.EMPTY &&
+                    (intCodes ? intKeys[slot] : longKeys[slot]) != codes[i]) {
+                slot = (slot + 1) & mask;
+            }
+            checkDuplicate(universe, slots.get(slot), constants[i], codes[i]);
+            if (intCodes) {
+                intKeys[slot] = (int) codes[i];
+            } else {
+                longKeys[slot] = codes[i];
+            }
+            slots.set(slot, positions[i]);
+        }
+        return new IntCodeIndex<>(universe, slots, 0, false, intKeys, longKeys);
+    }
+
+    /**
+     * Find the constant with a code
+     * @param code the code
+     * @return the constant, or null if no constant has that code
+     */
+    T get(long code) {
+        if (dense) {
+            long slot = code - min;
+            if (slot < 0 || slot >= slots.length()) {
+                return null;
+            }
+            int position = slots.get((int) slot);
+            return position == OrdinalArray.EMPTY ? null : universe[position];
+        }
+        if (intKeys != null && (int) code != code) {
+            return null;
+        }
+        int slot = hash(code) & mask;
+        int position;
+        while ((position = slots.get(slot)) != OrdinalArray.EMPTY) {
+            if ((intKeys != null ? intKeys[slot] : longKeys[slot]) == code) {
+                return universe[position];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * @return estimated bytes taken by the index, without the shared array of constants
+     */
+    long footprint() {
+        return Footprints.object(4, 13) + slots.footprint() +
+                (intKeys != null ? Footprints.array(intKeys.length, 4) : 0) +
+                (longKeys != null ? Footprints.array(longKeys.length, 8) : 0);
+    }
+
+    private static int hash(long code) {
+        long h = code * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static void checkDuplicate(Object[] universe, int existing, Object constant, long code) {
+        if (existing != OrdinalArray.EMPTY) {
+            throw new IllegalArgumentException("enum constants " + universe[existing] + " and " + constant +
+                    " share the same code " + code);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Extra codes and names an enum is read from, for values that old data still holds: retired codes and the names of
+ * renamed constants. Each maps to the name of the constant it reads as. They are loaded once, when the enum is resolved,
+ * and merged into its lookup tables.
+ *
+ * <p>Mappings are read from {@link EnumDeserializerOptions#legacyMappings()} if the enum sets it, otherwise from
+ * {@code META-INF/enum-deserializer/<enum class name>.properties} or {@code .json} on the classpath if either exists.
+ * Properties files hold {@code code.<code>=<constant>} and {@code name.<name>=<constant>} entries, JSON files a
+ * {@code codes} and a {@code names} object.
+ */
+final class LegacyMappings {
+    static final String RESOURCE_PREFIX = "META-INF/enum-deserializer/";
+    static final String FILE_PREFIX = "file:";
+
+    private static final String CODE_PREFIX = "code.";
+    private static final String NAME_PREFIX = "name.";
+
+    private final Map<Long, String> codes = new LinkedHashMap<>();
+    private final Map<String, String> names = new LinkedHashMap<>();
+
+    private LegacyMappings() {
+    }
+
+    /**
+     * @param enumClass the enum
+     * @return whether the enum has legacy mappings, without reading them
+     */
+    static boolean exists(Class<?> enumClass) {
+        return !configuredLocation(enumClass).isEmpty() || findDefaultResource(enumClass) != null;
+    }
+
+    /**
+     * Read the legacy mappings of an enum
+     * @param enumClass the enum
+     * @return the mappings, null if the enum doesn't have any
+     * @throws IllegalArgumentException if the mappings can't be read
+     */
+    static LegacyMappings load(Class<?> enumClass) {
+        String location = configuredLocation(enumClass);
+        URL resource;
+        if (location.isEmpty()) {
+            resource = findDefaultResource(enumClass);
+            if (resource == null) {
+                return null;
+            }
+            location = resource.toString();
+        } else if (!location.startsWith(FILE_PREFIX)) {
+            resource = classLoader(enumClass).getResource(location);
+            if (resource == null) {
+                throw new IllegalArgumentException("legacy mappings " + location + " of " +
+                        enumClass.getCanonicalName() + " aren't on the classpath");
+            }
+        } else {
+            resource = null;
+        }
+        LegacyMappings mappings = new LegacyMappings();
+        try (InputStream in = resource != null ? resource.openStream() :
+                new FileInputStream(location.substring(FILE_PREFIX.length()))) {
+            if (location.endsWith(".json")) {
+                mappings.readJson(in);
+            } else {
+                mappings.readProperties(in);
+            }
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalArgumentException("can't read legacy mappings " + location + " of " +
+                    enumClass.getCanonicalName() + ": " + ex.getMessage(), ex);
+        }
+        return mappings;
+    }
+
+    /**
+     * @return name of the constant each extra code reads as
+     */
+    Map<Long, String> getCodes() {
+        return codes;
+    }
+
+    /**
+     * @return name of the constant each extra name reads as
+     */
+    Map<String, String> getNames() {
+        return names;
+    }
+
+    private void readProperties(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        for (String key : properties.stringPropertyNames()) {
+            String constant = properties.getProperty(key).trim();
+            if (key.startsWith(CODE_PREFIX)) {
+                codes.put(Long.parseLong(key.substring(CODE_PREFIX.length()).trim()), constant);
+            } else if (key.startsWith(NAME_PREFIX)) {
+                names.put(key.substring(NAME_PREFIX.length()), constant);
+            } else {
+                throw new IllegalArgumentException("unexpected key " + key + ", expected " + CODE_PREFIX + "<code> " +
+                        "or " + NAME_PREFIX + "<name>");
+            }
+        }
+    }
+
+    private void readJson(InputStream in) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(in);
+        // fieldNames() and get() exist in every supported version, unlike fields() or properties()
+        JsonNode codeNode = root.path("codes");
+        for (Iterator<String> it = codeNode.fieldNames(); it.hasNext(); ) {
+            String code = it.next();
+            codes.put(Long.parseLong(code), codeNode.get(code).asText());
+        }
+        JsonNode nameNode = root.path("names");
+        for (Iterator<String> it = nameNode.fieldNames(); it.hasNext(); ) {
+            String name = it.next();
+            names.put(name, nameNode.get(name).asText());
+        }
+    }
+
+    private static String configuredLocation(Class<?> enumClass) {
+        EnumDeserializerOptions options = enumClass.getAnnotation(EnumDeserializerOptions.class);
+        return options == null ? "" : options.legacyMappings();
+    }
+
+    private static URL findDefaultResource(Class<?> enumClass) {
+        ClassLoader loader = classLoader(enumClass);
+        URL resource = loader.getResource(RESOURCE_PREFIX + enumClass.getName() + ".properties");
+        return resource != null ? resource : loader.getResource(RESOURCE_PREFIX + enumClass.getName() + ".json");
+    }
+
+    private static ClassLoader classLoader(Class<?> enumClass) {
+        ClassLoader loader = enumClass.getClassLoader();
+        return loader != null ? loader : ClassLoader.getSystemClassLoader();
+    }
+}
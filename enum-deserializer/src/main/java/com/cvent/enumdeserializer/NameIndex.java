@@ -0,0 +1,239 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Lookup table from the names of enum constants to the constants. A constant can be registered under several names
+ * (its own name, a rename, aliases). Names can be looked up either as strings or as a range of a char buffer, so that a
+ * parser's text buffer can be matched without materializing a string. Hashes of exact names are compatible with
+ * {@link String#hashCode()}, so string lookups reuse the hash cached in the string.
+ *
+ * <p>Next to the exact table the index keeps a second table keyed by the case-folded names, which is only consulted by
+ * the {@code getIgnoreCase} methods after an exact miss.
+ *
+ * <p>Like {@link IntCodeIndex}, slots hold positions in a shared array of constants instead of references. Exact keys
+ * are the indexed strings themselves, usually the names the enum already holds, and folded keys only take a string of
+ * their own when folding changes the name.
+ *
+ * @param <T> the enum type
+ */
+final class NameIndex<T> {
+    private final T[] universe;
+    private final Table exact;
+    private final Table folded;
+
+    private NameIndex(T[] universe, Table exact, Table folded) {
+        this.universe = universe;
+        this.exact = exact;
+        this.folded = folded;
+    }
+
+    /**
+     * Build an index over its own array of the distinct constants
+     * @param constants the constant each name maps to, in the same order as {@code names}
+     * @param names the names to index, earlier names take precedence over later duplicates
+     * @param <T> the enum type
+     * @return the index
+     */
+    static <T> NameIndex<T> build(T[] constants, String[] names) {
+        return build(OrdinalArray.distinct(constants), constants, names);
+    }
+
+    /**
+     * Build an index
+     * @param universe the array the index refers to, which has to hold every constant and must not be modified
+     * @param constants the constant each name maps to, in the same order as {@code names}
+     * @param names the names to index, earlier names take precedence over later duplicates
+     * @param <T> the enum type
+     * @return the index
+     */
+    static <T> NameIndex<T> build(T[] universe, T[] constants, String[] names) {
+        int[] positions = OrdinalArray.positions(universe, constants);
+        Table exact = new Table(names.length, universe.length);
+        Table folded = new Table(names.length, universe.length);
+        for (int i = 0; i < names.length; i++) {
+            exact.putIfAbsent(names[i], names[i].hashCode(), positions[i]);
+            String foldedName = fold(names[i]);
+            folded.putIfAbsent(foldedName, foldedName.hashCode(), positions[i]);
+        }
+        return new NameIndex<>(universe, exact, folded);
+    }
+
+    /**
+     * Find the constant with a name
+     * @param name the name
+     * @return the constant, or null if no constant has that name
+     */
+    T get(String name) {
+        return constant(exact.get(name.hashCode(), name));
+    }
+
+    /**
+     * Find the constant with a name
+     * @param buf buffer holding the name
+     * @param offset offset of the name in the buffer
+     * @param length length of the name
+     * @return the constant, or null if no constant has that name
+     */
+    T get(char[] buf, int offset, int length) {
+        return constant(exact.get(hash(buf, offset, length, false), buf, offset, length, false));
+    }
+
+    /**
+     * Find the constant with a name, ignoring case if there is no exact match
+     * @param name the name
+     * @return the constant, or null if no constant has that name
+     */
+    T getIgnoreCase(String name) {
+        T value = get(name);
+        if (value != null) {
+            return value;
+        }
+        char[] chars = name.toCharArray();
+        return constant(folded.get(hash(chars, 0, chars.length, true), chars, 0, chars.length, true));
+    }
+
+    /**
+     * Find the constant with a name, ignoring case if there is no exact match
+     * @param buf buffer holding the name
+     * @param offset offset of the name in the buffer
+     * @param length length of the name
+     * @return the constant, or null if no constant has that name
+     */
+    T getIgnoreCase(char[] buf, int offset, int length) {
+        T value = get(buf, offset, length);
+        if (value != null) {
+            return value;
+        }
+        return constant(folded.get(hash(buf, offset, length, true), buf, offset, length, true));
+    }
+
+    /**
+     * @return estimated bytes taken by the index, without the shared array of constants and the indexed names
+     */
+    long footprint() {
+        return Footprints.object(3, 0) + exact.footprint(null) + folded.footprint(exact);
+    }
+
+    private T constant(int position) {
+        return position == OrdinalArray.EMPTY ? null : universe[position];
+    }
+
+    private static char fold(char c) {
+        // same folding as String.equalsIgnoreCase
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String fold(String name) {
+        char[] chars = name.toCharArray();
+        boolean changed = false;
+        for (int i = 0; i < chars.length; i++) {
+            char c = fold(chars[i]);
+            changed |= c != chars[i];
+            chars[i] = c;
+        }
+        return changed ? new String(chars) : name;
+    }
+
+    private static int hash(char[] buf, int offset, int length, boolean fold) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + (fold ? fold(buf[i]) : buf[i]);
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Open-addressing table from names to positions
+     */
+    private static final class Table {
+        private final String[] keys;
+        private final int[] hashes;
+        private final OrdinalArray positions;
+        private final int mask;
+
+        Table(int size, int universeSize) {
+            int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+            this.keys = new String[capacity];
+            this.hashes = new int[capacity];
+            this.positions = new OrdinalArray(capacity, universeSize);
+            this.mask = capacity - 1;
+        }
+
+        void putIfAbsent(String key, int hash, int position) {
+            int slot = spread(hash) & mask;
+            while (keys[slot] != null) {
+                if (hashes[slot] == hash && keys[slot].equals(key)) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            hashes[slot] = hash;
+            positions.set(slot, position);
+        }
+
+        int get(int hash, String name) {
+            int slot = spread(hash) & mask;
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (hashes[slot] == hash && key.equals(name)) {
+                    return positions.get(slot);
+                }
+                slot = (slot + 1) & mask;
+            }
+            return OrdinalArray.EMPTY;
+        }
+
+        int get(int hash, char[] buf, int offset, int length, boolean fold) {
+            int slot = spread(hash) & mask;
+            String key;
+            while ((key = keys[slot]) != null) {
+                if (hashes[slot] == hash && matches(key, buf, offset, length, fold)) {
+                    return positions.get(slot);
+                }
+                slot = (slot + 1) & mask;
+            }
+            return OrdinalArray.EMPTY;
+        }
+
+        /**
+         * @param shared table whose keys are counted elsewhere, null if there is none
+         */
+        long footprint(Table shared) {
+            long size = Footprints.object(3, 4) + Footprints.array(keys.length, Footprints.REFERENCE) +
+                    Footprints.array(hashes.length, 4) + positions.footprint();
+            // folded keys that differ from the indexed names are the only strings the index owns
+            for (String key : keys) {
+                if (key != null && shared != null && !shared.holdsInstance(key)) {
+                    size += Footprints.string(key);
+                }
+            }
+            return size;
+        }
+
+        private boolean holdsInstance(String key) {
+            for (int slot = spread(key.hashCode()) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean matches(String key, char[] buf, int offset, int length, boolean fold) {
+            if (key.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = buf[offset + i];
+                if (key.charAt(i) != (fold ? fold(c) : c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
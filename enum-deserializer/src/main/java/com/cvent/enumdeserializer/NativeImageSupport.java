@@ -0,0 +1,200 @@
+package com.cvent.enumdeserializer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves enums ahead of time for GraalVM native images, so that no reflection runs when the image starts.
+ *
+ * <p>Pre-resolved enums are kept in a static table that later lookups check before resolving anything. When this class
+ * is initialized while an image is built (the jar's {@code native-image.properties} initializes it and the classes its
+ * table references at build time), it pre-resolves every enum listed in {@value #INDEX_RESOURCE} on the classpath,
+ * which {@code enum-deserializer-processor} writes for the enums annotated with {@link GenerateEnumDeserializer}, so
+ * the table and everything it references end up in the image heap. Other enums can be added by calling
+ * {@link #preResolve} from a class that is initialized at build time too.
+ *
+ * <p>With the system property {@value #REFLECTION_FREE_PROPERTY} set to {@code true}, resolving an enum that wasn't
+ * pre-resolved fails instead of falling back to reflection. Passed to {@code native-image} it is read at build time,
+ * so the image refuses to reflect at runtime; on the JVM it checks that every enum a test reads was pre-resolved.
+ */
+public final class NativeImageSupport {
+
+    /**
+     * System property turning on the reflection-free mode
+     */
+    public static final String REFLECTION_FREE_PROPERTY = "com.cvent.enumdeserializer.reflectionFree";
+
+    /**
+     * Classpath resource listing the binary names of enums to pre-resolve while an image is built, one per line
+     */
+    public static final String INDEX_RESOURCE = LegacyMappings.RESOURCE_PREFIX + "enums.txt";
+
+    /**
+     * System property native-image sets to {@code buildtime} while it builds an image
+     */
+    private static final String IMAGE_CODE_PROPERTY = "org.graalvm.nativeimage.imagecode";
+
+    /**
+     * Pre-resolved enums, replaced on every update so that readers never see a map being modified
+     */
+    private static volatile Map<Class<?>, PreResolved> preResolved = Collections.emptyMap();
+
+    private static volatile boolean reflectionFree = Boolean.getBoolean(REFLECTION_FREE_PROPERTY);
+
+    /**
+     * Set while {@link #preResolve} runs, which may reflect even in reflection-free mode
+     */
+    private static volatile boolean resolving;
+
+    static {
+        if (isBuildingImage()) {
+            preResolveIndexed(NativeImageSupport.class.getClassLoader());
+        }
+    }
+
+    private NativeImageSupport() {
+    }
+
+    /**
+     * Resolve enums and keep them in the pre-resolved table
+     * @param enumClasses the enums
+     * @throws IllegalArgumentException if the deserializer can't handle one of the enums
+     */
+    public static synchronized void preResolve(Collection<? extends Class<? extends Enum<?>>> enumClasses) {
+        Map<Class<?>, PreResolved> resolved = new HashMap<>(preResolved);
+        resolving = true;
+        try {
+            for (Class<? extends Enum<?>> enumClass : enumClasses) {
+                resolved.put(enumClass, new PreResolved(EnumResolution.forClass((Class) enumClass),
+                        GeneratedLookups.forClass((Class) enumClass)));
+            }
+        } finally {
+            resolving = false;
+        }
+        preResolved = resolved;
+    }
+
+    /**
+     * Pre-resolve the enums listed in every {@value #INDEX_RESOURCE} visible to a classloader
+     * @param loader the classloader to find the indexes and enums with
+     * @return the enums pre-resolved
+     * @throws IllegalArgumentException if an index can't be read or lists a class that isn't a loadable enum
+     */
+    public static List<Class<? extends Enum<?>>> preResolveIndexed(ClassLoader loader) {
+        List<Class<? extends Enum<?>>> enumClasses = new ArrayList<>();
+        try {
+            for (Enumeration<URL> indexes = loader.getResources(INDEX_RESOURCE); indexes.hasMoreElements(); ) {
+                URL index = indexes.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(index.openStream(),
+                        StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.trim().isEmpty()) {
+                            enumClasses.add(loadEnum(line.trim(), loader, index));
+                        }
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("can't read " + INDEX_RESOURCE, ex);
+        }
+        preResolve(enumClasses);
+        return enumClasses;
+    }
+
+    /**
+     * @return whether resolving enums that weren't pre-resolved fails
+     */
+    public static boolean isReflectionFree() {
+        return reflectionFree;
+    }
+
+    /**
+     * Only for tests, the mode is otherwise fixed by {@value #REFLECTION_FREE_PROPERTY}
+     */
+    static void setReflectionFree(boolean reflectionFree) {
+        NativeImageSupport.reflectionFree = reflectionFree;
+    }
+
+    /**
+     * @param enumClass the enum
+     * @return the pre-resolved enum, null if it wasn't pre-resolved
+     */
+    static PreResolved find(Class<?> enumClass) {
+        return preResolved.get(enumClass);
+    }
+
+    /**
+     * @return whether this runs inside native-image building an image, read on every call since this class is
+     * initialized at build time
+     */
+    static boolean isBuildingImage() {
+        return "buildtime".equals(System.getProperty(IMAGE_CODE_PROPERTY));
+    }
+
+    /**
+     * @return whether enums that weren't pre-resolved may be resolved with reflection now
+     */
+    static boolean mayReflect() {
+        return !reflectionFree || resolving;
+    }
+
+    /**
+     * @param enumClass the enum that was about to be resolved
+     * @return the exception to throw for an enum that wasn't pre-resolved in reflection-free mode
+     */
+    static IllegalStateException notPreResolved(Class<?> enumClass) {
+        return new IllegalStateException(enumClass.getName() + " wasn't pre-resolved, and " +
+                REFLECTION_FREE_PROPERTY + " forbids resolving it with reflection; annotate it with " +
+                "@GenerateEnumDeserializer or pass it to NativeImageSupport.preResolve at build time");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Enum<?>> loadEnum(String name, ClassLoader loader, URL index) {
+        Class<?> enumClass;
+        try {
+            enumClass = Class.forName(name, false, loader);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalArgumentException(index + " lists " + name + ", which isn't on the classpath", ex);
+        }
+        if (!enumClass.isEnum()) {
+            throw new IllegalArgumentException(index + " lists " + name + ", which isn't an enum");
+        }
+        return (Class<? extends Enum<?>>) enumClass;
+    }
+
+    /**
+     * An enum resolved ahead of time
+     */
+    static final class PreResolved {
+        private final EnumResolution<?> resolution;
+        private final GeneratedEnumLookup<?> lookup;
+
+        PreResolved(EnumResolution<?> resolution, GeneratedEnumLookup<?> lookup) {
+            this.resolution = resolution;
+            this.lookup = lookup;
+        }
+
+        EnumResolution<?> getResolution() {
+            return resolution;
+        }
+
+        /**
+         * @return the generated lookup, null if none was generated
+         */
+        GeneratedEnumLookup<?> getLookup() {
+            return lookup;
+        }
+    }
+}
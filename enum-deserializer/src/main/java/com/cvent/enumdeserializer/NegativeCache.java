@@ -0,0 +1,54 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Small direct-mapped cache of codes a pure int JsonCreator returned null for, so that an upstream sending the same
+ * unknown code over and over doesn't run the creator every time. Each code has exactly one slot and a newer miss
+ * simply replaces whatever was there, which keeps the cache bounded without any bookkeeping. Pure string creators
+ * don't need one, since {@link StringCreatorCache} remembers their null results too.
+ *
+ * <p>Slots are written without synchronization. Entries are immutable boxes, so a reader sees either a complete entry or
+ * a stale one, and a stale entry only costs a call to the creator. The array is allocated by the first miss, so
+ * creators that never miss don't pay for it.
+ */
+final class NegativeCache {
+    private static final int SIZE = 64;
+
+    private Long[] codes;
+
+    boolean containsCode(long code) {
+        Long[] codes = this.codes;
+        if (codes == null) {
+            return false;
+        }
+        Long entry = codes[slot(Long.hashCode(code))];
+        return entry != null && entry == code;
+    }
+
+    void addCode(long code) {
+        Long[] codes = this.codes;
+        if (codes == null) {
+            codes = new Long[SIZE];
+            this.codes = codes;
+        }
+        codes[slot(Long.hashCode(code))] = code;
+    }
+
+    /**
+     * @return estimated bytes taken by the cache
+     */
+    long footprint() {
+        Long[] codes = this.codes;
+        long size = Footprints.object(1, 0);
+        if (codes != null) {
+            size += Footprints.array(SIZE, Footprints.REFERENCE);
+            for (Long code : codes) {
+                size += code != null ? Footprints.object(0, 8) : 0;
+            }
+        }
+        return size;
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Detects and parses integral codes sent as text in a single pass, without allocating. Accepts an optional sign and any
+ * value between {@code -Long.MAX_VALUE} and {@code Long.MAX_VALUE}.
+ */
+final class NumericText {
+    /**
+     * Returned for text that isn't an integer in the accepted range. {@link Long#MIN_VALUE} is outside of the range, so
+     * it can't be confused with a parsed code.
+     */
+    static final long NOT_NUMERIC = Long.MIN_VALUE;
+
+    private NumericText() {
+    }
+
+    /**
+     * Parse an integer
+     * @param buf buffer holding the text
+     * @param offset offset of the text in the buffer
+     * @param length length of the text
+     * @return the integer, or {@link #NOT_NUMERIC}
+     */
+    static long parse(char[] buf, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse an integer
+     * @param text the text
+     * @return the integer, or {@link #NOT_NUMERIC}
+     */
+    static long parse(String text) {
+        int i = 0;
+        int end = text.length();
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            return NOT_NUMERIC;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                return NOT_NUMERIC;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+}
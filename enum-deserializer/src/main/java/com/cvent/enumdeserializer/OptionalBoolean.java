@@ -0,0 +1,16 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * A boolean option of {@link EnumDeserializerOptions} that can be left unset, so that a property only overrides the
+ * options of its enum it actually sets
+ */
+public enum OptionalBoolean {
+    /**
+     * Use the value set on the enum, or the default of the option if the enum doesn't set it either
+     */
+    INHERIT,
+
+    TRUE,
+
+    FALSE
+}
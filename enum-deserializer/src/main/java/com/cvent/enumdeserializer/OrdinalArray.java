@@ -0,0 +1,107 @@
+package com.cvent.enumdeserializer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed-size array of positions in a shared array of constants, which lookup tables store instead of a reference per
+ * slot. Positions take a byte each when there are fewer than 255 constants, which covers nearly every enum, and a char
+ * each otherwise. Slots hold the position plus one, so that a zeroed slot reads as empty.
+ */
+final class OrdinalArray {
+    /**
+     * What {@link #get} returns for a slot that was never set
+     */
+    static final int EMPTY = -1;
+
+    private static final int MAX_BYTE_POSITIONS = 0xFF;
+    private static final int MAX_CHAR_POSITIONS = 0xFFFF;
+
+    private final byte[] bytes;
+    private final char[] chars;
+
+    /**
+     * @param length number of slots
+     * @param positions number of distinct positions the slots can hold
+     * @throws IllegalArgumentException if there are too many positions to fit in a char
+     */
+    OrdinalArray(int length, int positions) {
+        if (positions < MAX_BYTE_POSITIONS) {
+            this.bytes = new byte[length];
+            this.chars = null;
+        } else if (positions < MAX_CHAR_POSITIONS) {
+            this.bytes = null;
+            this.chars = new char[length];
+        } else {
+            throw new IllegalArgumentException("can't index " + positions + " constants, at most " +
+                    (MAX_CHAR_POSITIONS - 1) + " are supported");
+        }
+    }
+
+    /**
+     * @param slot the slot
+     * @return the position in the slot, {@link #EMPTY} if it was never set
+     */
+    int get(int slot) {
+        return (bytes != null ? bytes[slot] & 0xFF : chars[slot]) - 1;
+    }
+
+    void set(int slot, int position) {
+        if (bytes != null) {
+            bytes[slot] = (byte) (position + 1);
+        } else {
+            chars[slot] = (char) (position + 1);
+        }
+    }
+
+    int length() {
+        return bytes != null ? bytes.length : chars.length;
+    }
+
+    long footprint() {
+        return Footprints.object(2, 0) + (bytes != null ? Footprints.array(bytes.length, 1) :
+                Footprints.array(chars.length, 2));
+    }
+
+    /**
+     * The distinct values of an array, for tables built from values that don't come with a shared array of their own
+     * @param values the values, possibly repeated
+     * @param <T> the value type
+     * @return each value once by identity, in order of first occurrence
+     */
+    static <T> T[] distinct(T[] values) {
+        Map<T, Boolean> seen = new IdentityHashMap<>();
+        List<T> distinct = new ArrayList<>();
+        for (T value : values) {
+            if (seen.put(value, Boolean.TRUE) == null) {
+                distinct.add(value);
+            }
+        }
+        return distinct.toArray(Arrays.copyOf(values, 0));
+    }
+
+    /**
+     * @param universe the shared array of constants
+     * @param values constants from the shared array
+     * @return the position of each value in the shared array
+     * @throws IllegalArgumentException if a value isn't in the shared array
+     */
+    static int[] positions(Object[] universe, Object[] values) {
+        Map<Object, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < universe.length; i++) {
+            positions.putIfAbsent(universe[i], i);
+        }
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            Integer position = positions.get(values[i]);
+            if (position == null) {
+                throw new IllegalArgumentException(values[i] + " isn't one of " + Arrays.toString(universe));
+            }
+            result[i] = position;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * The options that apply to one property of an enum type: the {@link EnumDeserializerOptions} of the property merged
+ * attribute by attribute over the ones of the enum, then over {@link EnumDeserializerConfig} and the defaults. A
+ * property setting only {@code inputFormat} still ignores case and fails on unknown values if its enum says so.
+ */
+final class ResolvedOptions {
+
+    private final boolean caseInsensitive;
+    private final InputFormat inputFormat;
+    private final UnknownValuePolicy onUnknown;
+    private final Class<? extends UnknownEnumValueHandler> unknownValueHandler;
+
+    private ResolvedOptions(boolean caseInsensitive, InputFormat inputFormat, UnknownValuePolicy onUnknown,
+                            Class<? extends UnknownEnumValueHandler> unknownValueHandler) {
+        this.caseInsensitive = caseInsensitive;
+        this.inputFormat = inputFormat;
+        this.onUnknown = onUnknown;
+        this.unknownValueHandler = unknownValueHandler;
+    }
+
+    /**
+     * @param targetClass the enum
+     * @param propertyOptions the options of the property, null if it has none or there is no property
+     * @param config the mapper-wide settings, null if there are none
+     * @return the options to read the property with
+     */
+    static ResolvedOptions resolve(Class<?> targetClass, EnumDeserializerOptions propertyOptions,
+                                   EnumDeserializerConfig config) {
+        EnumDeserializerOptions enumOptions = targetClass.getAnnotation(EnumDeserializerOptions.class);
+
+        OptionalBoolean caseInsensitive = OptionalBoolean.INHERIT;
+        InputFormat inputFormat = InputFormat.INHERIT;
+        UnknownValuePolicy onUnknown = UnknownValuePolicy.INHERIT;
+        Class<? extends UnknownEnumValueHandler> handler = UnknownEnumValueHandler.class;
+        // the property first, so that whatever it sets wins
+        for (EnumDeserializerOptions options : new EnumDeserializerOptions[] {propertyOptions, enumOptions}) {
+            if (options == null) {
+                continue;
+            }
+            if (caseInsensitive == OptionalBoolean.INHERIT) {
+                caseInsensitive = options.caseInsensitive();
+            }
+            if (inputFormat == InputFormat.INHERIT) {
+                inputFormat = options.inputFormat();
+            }
+            if (onUnknown == UnknownValuePolicy.INHERIT) {
+                onUnknown = options.onUnknown();
+            }
+            if (handler == UnknownEnumValueHandler.class) {
+                handler = options.unknownValueHandler();
+            }
+        }
+        if (inputFormat == InputFormat.INHERIT) {
+            inputFormat = config != null ? config.getInputFormat(targetClass) : InputFormat.ANY;
+        }
+        return new ResolvedOptions(caseInsensitive == OptionalBoolean.TRUE, inputFormat,
+                onUnknown == UnknownValuePolicy.INHERIT ? UnknownValuePolicy.NULL : onUnknown, handler);
+    }
+
+    boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    /**
+     * @return the format, never {@link InputFormat#INHERIT}
+     */
+    InputFormat getInputFormat() {
+        return inputFormat;
+    }
+
+    /**
+     * @return the policy, never {@link UnknownValuePolicy#INHERIT}
+     */
+    UnknownValuePolicy getOnUnknown() {
+        return onUnknown;
+    }
+
+    /**
+     * @return the handler for {@link UnknownValuePolicy#CALLBACK}, {@link UnknownEnumValueHandler} itself if none is
+     * set
+     */
+    Class<? extends UnknownEnumValueHandler> getUnknownValueHandler() {
+        return unknownValueHandler;
+    }
+}
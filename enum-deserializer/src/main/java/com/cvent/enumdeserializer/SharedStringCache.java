@@ -0,0 +1,82 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Small direct-mapped cache from string instances to what they resolved to. Parsers hand out some strings as the same
+ * instance every time they occur: field names come from the symbol table of the parser factory, and binary formats like
+ * Smile decode a value once and then refer back to it. Such strings are recognized by identity, which skips both the
+ * numeric check and the name lookup. Strings that are equal but aren't the same instance simply miss.
+ *
+ * <p>Like {@link NegativeCache}, slots are written without synchronization and hold immutable entries, so a reader sees
+ * either a complete entry or a stale one, and a stale entry only costs a lookup. The slots are only allocated by the
+ * first put, so enums that never see a shared string don't pay for them; racing first puts may each allocate slots,
+ * which only loses an entry.
+ *
+ * @param <T> the enum type
+ */
+final class SharedStringCache<T> {
+    private static final int SIZE = 64;
+
+    private Entry<T>[] entries;
+
+    /**
+     * @param text the string
+     * @return the entry for that exact instance, null if it isn't cached
+     */
+    Entry<T> get(String text) {
+        Entry<T>[] entries = this.entries;
+        if (entries == null) {
+            return null;
+        }
+        Entry<T> entry = entries[slot(text)];
+        return entry != null && entry.text == text ? entry : null;
+    }
+
+    /**
+     * @param text the string
+     * @param value what it resolved to, null if it didn't match any constant
+     */
+    @SuppressWarnings("unchecked")
+    void put(String text, T value) {
+        Entry<T>[] entries = this.entries;
+        if (entries == null) {
+            entries = new Entry[SIZE];
+            this.entries = entries;
+        }
+        entries[slot(text)] = new Entry<>(text, value);
+    }
+
+    /**
+     * @return estimated bytes taken by the cache, without the cached strings
+     */
+    long footprint() {
+        Entry<T>[] entries = this.entries;
+        long size = Footprints.object(1, 0);
+        if (entries != null) {
+            size += Footprints.array(entries.length, Footprints.REFERENCE);
+            for (Entry<T> entry : entries) {
+                size += entry != null ? Footprints.object(2, 0) : 0;
+            }
+        }
+        return size;
+    }
+
+    private static int slot(String text) {
+        // strings cache their hash, so this doesn't go over the characters again
+        int hash = text.hashCode();
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    /**
+     * A string and what it resolved to
+     * @param <T> the enum type
+     */
+    static final class Entry<T> {
+        final String text;
+        final T value;
+
+        Entry(String text, T value) {
+            this.text = text;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.cvent.enumdeserializer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memo of what a pure string JsonCreator returned, including null for text that didn't match, so that repeated
+ * text costs one hash probe instead of a creator call. The table is 4-way set-associative: a text can sit in any of the
+ * four slots of its set, so a few texts sharing a set don't keep evicting each other, and once the set is full a newer
+ * result replaces one of them. Like {@link NegativeCache}, slots are written without synchronization since entries are
+ * immutable. Hits and misses are counted in {@link LongAdder}s.
+ *
+ * @param <T> the enum type
+ */
+final class StringCreatorCache<T> {
+    private static final int WAYS = 4;
+    /**
+     * Largest size accepted, the largest power of two an int holds
+     */
+    static final int MAX_SIZE = 1 << 30;
+
+    private final Entry<T>[] entries;
+    /**
+     * Mask selecting the first slot of a set
+     */
+    private final int setMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of texts to remember, rounded up to a power of two
+     * @throws IllegalArgumentException if the size isn't positive or exceeds {@link #MAX_SIZE}, which rounding up
+     * would overflow
+     */
+    StringCreatorCache(int maxSize) {
+        if (maxSize <= 0 || maxSize > MAX_SIZE) {
+            throw new IllegalArgumentException("string creator cache size has to be between 1 and " + MAX_SIZE +
+                    ", not " + maxSize);
+        }
+        int capacity = Integer.highestOneBit(Math.max(maxSize, WAYS));
+        capacity = capacity < maxSize ? capacity << 1 : capacity;
+        this.entries = new Entry[capacity];
+        this.setMask = (capacity - 1) & ~(WAYS - 1);
+    }
+
+    /**
+     * @param text the text passed to the creator
+     * @return the remembered result for the text, null if it isn't cached
+     */
+    Entry<T> get(String text) {
+        int hash = text.hashCode();
+        int set = set(hash);
+        for (int i = set; i < set + WAYS; i++) {
+            Entry<T> entry = entries[i];
+            if (entry != null && entry.hash == hash && entry.text.equals(text)) {
+                hits.increment();
+                return entry;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @param text the text passed to the creator
+     * @param value what the creator returned
+     */
+    void put(String text, T value) {
+        int hash = text.hashCode();
+        int set = set(hash);
+        int victim = set + (hash >>> 30);
+        for (int i = set; i < set + WAYS; i++) {
+            if (entries[i] == null) {
+                victim = i;
+                break;
+            }
+        }
+        entries[victim] = new Entry<>(hash, text, value);
+    }
+
+    CreatorCacheStats getStats() {
+        return new CreatorCacheStats(hits.sum(), misses.sum(), entries.length);
+    }
+
+    /**
+     * @return estimated bytes taken by the cache, including the remembered texts
+     */
+    long footprint() {
+        // the counters are striped, count their base cells only
+        long size = Footprints.object(3, 4) + 2 * Footprints.object(1, 12) +
+                Footprints.array(entries.length, Footprints.REFERENCE);
+        for (Entry<T> entry : entries) {
+            if (entry != null) {
+                size += Footprints.object(2, 4) + Footprints.string(entry.text);
+            }
+        }
+        return size;
+    }
+
+    private int set(int hash) {
+        return (hash ^ (hash >>> 16)) & setMask;
+    }
+
+    /**
+     * A text and what the creator returned for it
+     * @param <T> the enum type
+     */
+    static final class Entry<T> {
+        final int hash;
+        final String text;
+        final T value;
+
+        Entry(int hash, String text, T value) {
+            this.hash = hash;
+            this.text = text;
+            this.value = value;
+        }
+    }
+}
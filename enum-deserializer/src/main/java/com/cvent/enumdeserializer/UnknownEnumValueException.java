@@ -0,0 +1,46 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+/**
+ * Thrown for values that don't match any constant of an enum using {@link UnknownValuePolicy#FAIL}. Doesn't capture a
+ * stack trace: it is thrown for bad input rather than bugs, the location in the input tells where it happened, and
+ * filling in the stack would dominate the cost of rejecting the value.
+ */
+public class UnknownEnumValueException extends JsonMappingException {
+    private static final long serialVersionUID = 1L;
+
+    private final Class<?> enumClass;
+    private final String value;
+
+    /**
+     * @param enumClass the enum being deserialized
+     * @param value the unknown name, or the unknown code as a string
+     * @param location where the value is in the input
+     */
+    public UnknownEnumValueException(Class<?> enumClass, String value, JsonLocation location) {
+        super("unknown value \"" + value + "\" for enum " + enumClass.getName(), location);
+        this.enumClass = enumClass;
+        this.value = value;
+    }
+
+    /**
+     * @return the enum being deserialized
+     */
+    public Class<?> getEnumClass() {
+        return enumClass;
+    }
+
+    /**
+     * @return the unknown name, or the unknown code as a string
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,24 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * Decides what unknown values become for enums using {@link UnknownValuePolicy#CALLBACK}. Implementations need a no-arg
+ * constructor; one instance is created per deserializer and called from every thread using it.
+ */
+public interface UnknownEnumValueHandler {
+
+    /**
+     * Called for a string that doesn't match any constant
+     * @param enumClass the enum being deserialized
+     * @param name the string
+     * @return the constant to use, or null
+     */
+    Enum<?> onUnknownName(Class<?> enumClass, String name);
+
+    /**
+     * Called for a code that doesn't match any constant
+     * @param enumClass the enum being deserialized
+     * @param code the code
+     * @return the constant to use, or null
+     */
+    Enum<?> onUnknownCode(Class<?> enumClass, long code);
+}
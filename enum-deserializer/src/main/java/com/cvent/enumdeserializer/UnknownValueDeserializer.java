@@ -0,0 +1,118 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Applies an {@link UnknownValuePolicy} other than {@link UnknownValuePolicy#NULL} to the values another deserializer
+ * couldn't match. The other deserializer is left as it is, so enums using the default policy don't pay for this.
+ *
+ * @param <T> the enum type
+ */
+final class UnknownValueDeserializer<T extends Enum<?>> extends JsonDeserializer<T> {
+
+    private final JsonDeserializer<T> delegate;
+    private final Class<T> enumClass;
+    private final UnknownValuePolicy policy;
+    private final T defaultConstant;
+    private final UnknownEnumValueHandler handler;
+    private final boolean hasCodes;
+    private final boolean namesOnly;
+
+    /**
+     * @param delegate the deserializer matching known values
+     * @param enumClass the enum it reads
+     * @param policy the policy to apply
+     * @param defaultConstant the constant for {@link UnknownValuePolicy#DEFAULT}
+     * @param handler the handler for {@link UnknownValuePolicy#CALLBACK}
+     * @param hasCodes whether the delegate can read codes at all, all codes are unknown if it can't
+     * @param namesOnly whether the delegate reads numeric strings as names, see {@link InputFormat#NAMES_ONLY}
+     */
+    UnknownValueDeserializer(JsonDeserializer<T> delegate, Class<T> enumClass, UnknownValuePolicy policy,
+                             T defaultConstant, UnknownEnumValueHandler handler, boolean hasCodes,
+                             boolean namesOnly) {
+        super();
+        this.delegate = delegate;
+        this.enumClass = enumClass;
+        this.policy = policy;
+        this.defaultConstant = defaultConstant;
+        this.handler = handler;
+        this.hasCodes = hasCodes;
+        this.namesOnly = namesOnly;
+    }
+
+    @Override
+    public T deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException, JsonProcessingException {
+        JsonToken curr = jp.getCurrentToken();
+        if (curr == JsonToken.VALUE_EMBEDDED_OBJECT) {
+            return deserializeEmbedded(jp, ctxt);
+        }
+        boolean text = curr == JsonToken.VALUE_STRING || curr == JsonToken.FIELD_NAME;
+        if (!hasCodes && !namesOnly) {
+            long code = curr == JsonToken.VALUE_NUMBER_INT ? jp.getLongValue() :
+                    text ? parseCode(jp) : NumericText.NOT_NUMERIC;
+            if (code != NumericText.NOT_NUMERIC) {
+                return onUnknownCode(jp, code);
+            }
+        }
+        T value = delegate.deserialize(jp, ctxt);
+        if (value != null || !(text || curr == JsonToken.VALUE_NUMBER_INT)) {
+            return value;
+        }
+        // the parser is still on the token, so the value can be read again to report it
+        long code = curr == JsonToken.VALUE_NUMBER_INT ? jp.getLongValue() :
+                namesOnly ? NumericText.NOT_NUMERIC : parseCode(jp);
+        return code == NumericText.NOT_NUMERIC ? onUnknownName(jp, jp.getText()) : onUnknownCode(jp, code);
+    }
+
+    /**
+     * Same as for tokens, for the numbers and strings buffers and trees built from objects hold as they are
+     */
+    private T deserializeEmbedded(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        Object embedded = jp.getEmbeddedObject();
+        boolean integral = EnumDeserializer.isIntegral(embedded);
+        if (integral && !hasCodes && !namesOnly) {
+            return onUnknownCode(jp, ((Number) embedded).longValue());
+        }
+        T value = delegate.deserialize(jp, ctxt);
+        if (value != null || !(integral || embedded instanceof String)) {
+            return value;
+        }
+        long code = integral ? ((Number) embedded).longValue() :
+                namesOnly ? NumericText.NOT_NUMERIC : NumericText.parse((String) embedded);
+        return code == NumericText.NOT_NUMERIC ? onUnknownName(jp, (String) embedded) : onUnknownCode(jp, code);
+    }
+
+    private static long parseCode(JsonParser jp) throws IOException {
+        return jp.hasTextCharacters() ?
+                NumericText.parse(jp.getTextCharacters(), jp.getTextOffset(), jp.getTextLength()) :
+                NumericText.parse(jp.getText());
+    }
+
+    private T onUnknownName(JsonParser jp, String name) throws JsonProcessingException {
+        switch (policy) {
+            case DEFAULT:
+                return defaultConstant;
+            case CALLBACK:
+                return enumClass.cast(handler.onUnknownName(enumClass, name));
+            default:
+                throw new UnknownEnumValueException(enumClass, name, jp.getCurrentLocation());
+        }
+    }
+
+    private T onUnknownCode(JsonParser jp, long code) throws JsonProcessingException {
+        switch (policy) {
+            case DEFAULT:
+                return defaultConstant;
+            case CALLBACK:
+                return enumClass.cast(handler.onUnknownCode(enumClass, code));
+            default:
+                throw new UnknownEnumValueException(enumClass, Long.toString(code), jp.getCurrentLocation());
+        }
+    }
+}
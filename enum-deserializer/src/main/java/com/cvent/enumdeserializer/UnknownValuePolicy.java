@@ -0,0 +1,28 @@
+package com.cvent.enumdeserializer;
+
+/**
+ * What {@link EnumDeserializer} does with a name or code that doesn't match any constant, see
+ * {@link EnumDeserializerOptions#onUnknown()}
+ */
+public enum UnknownValuePolicy {
+    /**
+     * Use the policy of the enum, or {@link #NULL} if it doesn't set one, only meaningful on a property
+     */
+    INHERIT,
+    /**
+     * Deserialize it as null. Enums that can't be created from a code at all still fail for codes, as they always have.
+     */
+    NULL,
+    /**
+     * Deserialize it as the constant annotated with {@link com.fasterxml.jackson.annotation.JsonEnumDefaultValue}
+     */
+    DEFAULT,
+    /**
+     * Fail with an {@link UnknownEnumValueException}
+     */
+    FAIL,
+    /**
+     * Ask the {@link EnumDeserializerOptions#unknownValueHandler()}
+     */
+    CALLBACK
+}
@@ -0,0 +1,86 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A unit test for reading enums from Smile and CBOR, where ints are binary and strings can be shared instances
+ */
+@RunWith(Parameterized.class)
+public class BinaryFormatsTest {
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        SmileFactory smile = new SmileFactory();
+        smile.configure(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES, true);
+        return Arrays.asList(new Object[][] {
+                {"smile", smile},
+                {"cbor", new CBORFactory()}
+        });
+    }
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public List<TestEnumNoJsonCreator> values;
+        public List<TestEnumJsonCreatorString> creatorValues;
+        public Map<TestEnumNoJsonCreator, Integer> map;
+    }
+
+    private static final ObjectMapper JSON_MAPPER = new ObjectMapper();
+
+    private final ObjectMapper mapper;
+
+    public BinaryFormatsTest(String name, JsonFactory factory) {
+        this.mapper = new ObjectMapper(factory).registerModule(new EnumDeserializerModule());
+    }
+
+    private byte[] encode(String json) throws Exception {
+        return mapper.writeValueAsBytes(JSON_MAPPER.readTree(json));
+    }
+
+    @Test
+    public void testDeserializeFromBinaryInts() throws Exception {
+        TestClass value = mapper.readValue(encode("{\"values\": [1, 2, 3, 4, 5000000000]}"), TestClass.class);
+        assertEquals(Arrays.asList(TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Two, TestEnumNoJsonCreator.Three,
+                null, null), value.values);
+    }
+
+    @Test
+    public void testDeserializeFromSharedStrings() throws Exception {
+        // the same names repeat, so Smile refers back to the strings it already sent
+        TestClass value = mapper.readValue(encode("{\"values\": [\"Two\", \"1\", \"Two\", \"Four\", \"1\", \"Two\", " +
+                "\"Four\"], \"creatorValues\": [\"Three\", \"Three\", \"Zero\", \"Zero\"]}"), TestClass.class);
+        assertEquals(Arrays.asList(TestEnumNoJsonCreator.Two, TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Two,
+                null, TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Two, null), value.values);
+        assertEquals(Arrays.asList(TestEnumJsonCreatorString.Three, TestEnumJsonCreatorString.Three, null, null),
+                value.creatorValues);
+    }
+
+    @Test
+    public void testDeserializeMapKeys() throws Exception {
+        byte[] encoded = encode("{\"map\": {\"One\": 1, \"2\": 2}}");
+        // field names come from the parser's symbol table, reading twice hits the same instances
+        for (int i = 0; i < 2; i++) {
+            TestClass value = mapper.readValue(encoded, TestClass.class);
+            assertEquals(Integer.valueOf(1), value.map.get(TestEnumNoJsonCreator.One));
+            assertEquals(Integer.valueOf(2), value.map.get(TestEnumNoJsonCreator.Two));
+            assertNull(value.map.get(TestEnumNoJsonCreator.Three));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.cvent.enumdeserializer;
+
+import org.junit.Test;
+
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A unit test for CreatorInvokers
+ */
+public class CreatorInvokersTest {
+
+    /**
+     * Enum that classes spun by the library can't link against, forcing the method handle path
+     */
+    private enum PrivateEnum {
+        One,
+        Two;
+
+        public static PrivateEnum fromShort(short value) {
+            if (value < 0) {
+                throw new IllegalStateException("negative");
+            }
+            return value == 1 ? One : value == 2 ? Two : null;
+        }
+
+        public static PrivateEnum fromString(String value) {
+            return value.equals("uno") ? One : null;
+        }
+    }
+
+    @Test
+    public void testLinkedIntCreator() throws Exception {
+        LongFunction<TestEnumJsonCreatorInt> creator = CreatorInvokers.bindIntegral(
+                TestEnumJsonCreatorInt.class.getMethod("fromInt", int.class));
+        assertEquals(TestEnumJsonCreatorInt.Two, creator.apply(2));
+        assertNull(creator.apply(4));
+    }
+
+    @Test
+    public void testLinkedLongCreator() throws Exception {
+        LongFunction<TestEnumJsonCreatorLong> creator = CreatorInvokers.bindIntegral(
+                TestEnumJsonCreatorLong.class.getMethod("fromInt", long.class));
+        assertEquals(TestEnumJsonCreatorLong.Three, creator.apply(3));
+    }
+
+    @Test
+    public void testMethodHandleCreators() throws Exception {
+        LongFunction<PrivateEnum> intCreator = CreatorInvokers.bindIntegral(
+                PrivateEnum.class.getMethod("fromShort", short.class));
+        Function<String, PrivateEnum> stringCreator = CreatorInvokers.bindString(
+                PrivateEnum.class.getMethod("fromString", String.class));
+        assertEquals(PrivateEnum.Two, intCreator.apply(2));
+        assertEquals(PrivateEnum.One, stringCreator.apply("uno"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testCreatorExceptionIsNotWrapped() throws Exception {
+        CreatorInvokers.<PrivateEnum>bindIntegral(PrivateEnum.class.getMethod("fromShort", short.class)).apply(-1);
+    }
+}
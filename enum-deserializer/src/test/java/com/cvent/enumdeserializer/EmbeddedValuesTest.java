@@ -0,0 +1,120 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for reading from buffers and trees that hold Java objects, as built by convertValue and valueToTree
+ */
+public class EmbeddedValuesTest {
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public TestEnumNoJsonCreator field;
+        public TestEnumJsonCreatorInt intCreator;
+        public TestEnumJsonCreatorString stringCreator;
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.FAIL)
+        public TestEnumNoJsonCreator failing;
+        @EnumDeserializerOptions(inputFormat = InputFormat.NAMES_ONLY)
+        public TestEnumNoJsonCreator namesOnly;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static TestClass readEmbedded(String property, Object value) throws Exception {
+        ObjectNode tree = JsonNodeFactory.instance.objectNode();
+        tree.putPOJO(property, value);
+        return OBJECT_MAPPER.treeToValue(tree, TestClass.class);
+    }
+
+    @Test
+    public void testEmbeddedCodes() throws Exception {
+        assertEquals(TestEnumNoJsonCreator.Two, readEmbedded("field", 2).field);
+        assertEquals(TestEnumNoJsonCreator.Three, readEmbedded("field", 3L).field);
+        assertEquals(TestEnumNoJsonCreator.One, readEmbedded("field", BigInteger.ONE).field);
+        assertNull(readEmbedded("field", 4).field);
+        assertEquals(TestEnumJsonCreatorInt.Two, readEmbedded("intCreator", (short) 2).intCreator);
+        assertEquals(TestEnumJsonCreatorString.Two, readEmbedded("stringCreator", 2).stringCreator);
+    }
+
+    @Test
+    public void testEmbeddedStrings() throws Exception {
+        assertEquals(TestEnumNoJsonCreator.Two, readEmbedded("field", "Two").field);
+        assertEquals(TestEnumNoJsonCreator.Two, readEmbedded("field", "2").field);
+        assertEquals(TestEnumJsonCreatorInt.Three, readEmbedded("intCreator", "Three").intCreator);
+        assertEquals(TestEnumJsonCreatorString.Three, readEmbedded("stringCreator", "Three").stringCreator);
+        assertNull(readEmbedded("namesOnly", "2").namesOnly);
+    }
+
+    @Test
+    public void testEmbeddedConstants() throws Exception {
+        assertEquals(TestEnumNoJsonCreator.Three, readEmbedded("field", TestEnumNoJsonCreator.Three).field);
+
+        // a buffer without a codec keeps the objects written to it as they are
+        TokenBuffer buffer = new TokenBuffer(null, false);
+        buffer.writeStartObject();
+        buffer.writeFieldName("intCreator");
+        buffer.writeObject(TestEnumJsonCreatorInt.One);
+        buffer.writeFieldName("field");
+        buffer.writeObject(2);
+        buffer.writeEndObject();
+        TestClass value = OBJECT_MAPPER.readValue(buffer.asParser(), TestClass.class);
+        assertEquals(TestEnumJsonCreatorInt.One, value.intCreator);
+        assertEquals(TestEnumNoJsonCreator.Two, value.field);
+    }
+
+    @Test
+    public void testUnknownEmbeddedValues() throws Exception {
+        try {
+            readEmbedded("failing", 7);
+            fail("expected unknown code to fail");
+        } catch (UnknownEnumValueException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("7"));
+        }
+        try {
+            readEmbedded("failing", "Seven");
+            fail("expected unknown name to fail");
+        } catch (UnknownEnumValueException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("Seven"));
+        }
+    }
+
+    @Test
+    public void testRejectsOtherEmbeddedObjects() throws Exception {
+        try {
+            readEmbedded("field", new Date());
+            fail("expected a date to be rejected");
+        } catch (JsonMappingException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains(Date.class.getName()));
+        }
+        try {
+            readEmbedded("namesOnly", 2);
+            fail("expected a code to be rejected for names only");
+        } catch (JsonMappingException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConvertValue() throws Exception {
+        TestClass value = OBJECT_MAPPER.convertValue(Collections.singletonMap("field", 3), TestClass.class);
+        assertEquals(TestEnumNoJsonCreator.Three, value.field);
+        value = OBJECT_MAPPER.convertValue(Collections.singletonMap("intCreator", "Two"), TestClass.class);
+        assertEquals(TestEnumJsonCreatorInt.Two, value.intCreator);
+    }
+}
@@ -0,0 +1,167 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for the set, map and key deserializers registered by EnumDeserializerModule
+ */
+public class EnumCollectionDeserializersTest {
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public EnumSet<TestEnumNoJsonCreator> set;
+
+        @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.TRUE)
+        public EnumSet<TestEnumNoJsonCreator> caseInsensitiveSet;
+
+        public EnumMap<TestEnumNoJsonCreator, List<Integer>> enumMap;
+
+        public Map<TestEnumNoJsonCreator, String> map;
+    }
+
+    /**
+     * Class with map keys read with options
+     */
+    private static class KeyOptions {
+        @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.TRUE)
+        public Map<TestEnumNoJsonCreator, String> caseInsensitive;
+
+        @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.TRUE)
+        public EnumMap<TestEnumNoJsonCreator, String> caseInsensitiveEnumMap;
+
+        @EnumDeserializerOptions(inputFormat = InputFormat.NAMES_ONLY)
+        public Map<EnumDeserializerOptionsTest.Strict, String> namesOnly;
+
+        @EnumDeserializerOptions(inputFormat = InputFormat.CODES_ONLY)
+        public Map<TestEnumNoJsonCreator, String> codesOnly;
+
+        public Map<UnknownValuePolicyTest.WithDefault, String> withDefault;
+
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.CALLBACK,
+                unknownValueHandler = UnknownValuePolicyTest.FirstConstantHandler.class)
+        public Map<TestEnumNoJsonCreator, String> callback;
+
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.FAIL)
+        public Map<TestEnumNoJsonCreator, String> failing;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new EnumDeserializerModule());
+
+    @Test
+    public void testEnumSet() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue(
+                "{\"set\": [1, \"Two\", \"3\", null, \"Four\", 1], \"caseInsensitiveSet\": [\"two\"]}", TestClass.class);
+        assertEquals(EnumSet.allOf(TestEnumNoJsonCreator.class), value.set);
+        assertEquals(EnumSet.of(TestEnumNoJsonCreator.Two), value.caseInsensitiveSet);
+    }
+
+    @Test
+    public void testEnumMap() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"enumMap\": {\"1\": [1], \"Three\": [3, 3], \"Two\": null}}",
+                TestClass.class);
+        assertEquals(EnumMap.class, value.enumMap.getClass());
+        assertEquals(Arrays.asList(1), value.enumMap.get(TestEnumNoJsonCreator.One));
+        assertEquals(Arrays.asList(3, 3), value.enumMap.get(TestEnumNoJsonCreator.Three));
+        assertTrue(value.enumMap.containsKey(TestEnumNoJsonCreator.Two));
+    }
+
+    @Test
+    public void testRootEnumMap() throws Exception {
+        EnumMap<TestEnumNoJsonCreator, String> value = OBJECT_MAPPER.readValue("{\"+1\": \"x\", \"2\": \"y\"}",
+                new TypeReference<EnumMap<TestEnumNoJsonCreator, String>>() { });
+        assertEquals("x", value.get(TestEnumNoJsonCreator.One));
+        assertEquals("y", value.get(TestEnumNoJsonCreator.Two));
+    }
+
+    @Test
+    public void testMapKeys() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"map\": {\"1\": \"a\", \"Two\": \"b\"}}", TestClass.class);
+        assertEquals("a", value.map.get(TestEnumNoJsonCreator.One));
+        assertEquals("b", value.map.get(TestEnumNoJsonCreator.Two));
+    }
+
+    @Test(expected = UnknownEnumValueException.class)
+    public void testUnknownMapKey() throws Exception {
+        OBJECT_MAPPER.readValue("{\"map\": {\"Four\": \"a\"}}", TestClass.class);
+    }
+
+    @Test
+    public void testCaseInsensitiveMapKeys() throws Exception {
+        KeyOptions value = OBJECT_MAPPER.readValue(
+                "{\"caseInsensitive\": {\"two\": \"a\"}, \"caseInsensitiveEnumMap\": {\"THREE\": \"b\"}}",
+                KeyOptions.class);
+        assertEquals("a", value.caseInsensitive.get(TestEnumNoJsonCreator.Two));
+        assertEquals("b", value.caseInsensitiveEnumMap.get(TestEnumNoJsonCreator.Three));
+        // keys are case-sensitive where nothing says otherwise
+        try {
+            OBJECT_MAPPER.readValue("{\"map\": {\"two\": \"a\"}}", TestClass.class);
+            fail();
+        } catch (UnknownEnumValueException ex) {
+            assertEquals("two", ex.getValue());
+        }
+    }
+
+    @Test
+    public void testInputFormatOfMapKeys() throws Exception {
+        // the enum ignores case and fails on unknown values, which the property only setting the format keeps
+        KeyOptions value = OBJECT_MAPPER.readValue("{\"namesOnly\": {\"two\": \"a\"}, \"codesOnly\": {\"3\": \"b\"}}",
+                KeyOptions.class);
+        assertEquals("a", value.namesOnly.get(EnumDeserializerOptionsTest.Strict.Two));
+        assertEquals("b", value.codesOnly.get(TestEnumNoJsonCreator.Three));
+        try {
+            OBJECT_MAPPER.readValue("{\"namesOnly\": {\"1\": \"a\"}}", KeyOptions.class);
+            fail();
+        } catch (UnknownEnumValueException ex) {
+            assertEquals("1", ex.getValue());
+        }
+        try {
+            OBJECT_MAPPER.readValue("{\"codesOnly\": {\"Three\": \"b\"}}", KeyOptions.class);
+            fail();
+        } catch (JsonMappingException ex) {
+            assertFalse(ex instanceof UnknownEnumValueException);
+        }
+    }
+
+    @Test
+    public void testUnknownValuePoliciesOfMapKeys() throws Exception {
+        KeyOptions value = OBJECT_MAPPER.readValue("{\"withDefault\": {\"Two\": \"a\"}, " +
+                "\"callback\": {\"Four\": \"b\", \"4\": \"c\"}}", KeyOptions.class);
+        assertEquals(Collections.singletonMap(UnknownValuePolicyTest.WithDefault.Unknown, "a"), value.withDefault);
+        assertEquals(Collections.singletonMap(TestEnumNoJsonCreator.One, "c"), value.callback);
+        for (String json : Arrays.asList("{\"failing\": {\"Four\": \"a\"}}", "{\"failing\": {\"4\": \"a\"}}",
+                // the handler returns null for negative codes, which isn't a key either
+                "{\"callback\": {\"-4\": \"a\"}}")) {
+            try {
+                OBJECT_MAPPER.readValue(json, KeyOptions.class);
+                fail(json);
+            } catch (UnknownEnumValueException ex) {
+                assertEquals(json, TestEnumNoJsonCreator.class, ex.getEnumClass());
+            }
+        }
+    }
+
+    @Test
+    public void testList() throws Exception {
+        List<TestEnumNoJsonCreator> value = OBJECT_MAPPER.readValue("[\"3\", 2, \"One\"]",
+                new TypeReference<List<TestEnumNoJsonCreator>>() { });
+        assertEquals(Arrays.asList(TestEnumNoJsonCreator.Three, TestEnumNoJsonCreator.Two, TestEnumNoJsonCreator.One),
+                value);
+    }
+}
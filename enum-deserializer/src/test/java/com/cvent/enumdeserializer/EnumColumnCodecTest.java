@@ -0,0 +1,52 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A unit test for EnumColumnCodec
+ */
+public class EnumColumnCodecTest {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    @Test
+    public void testReadInChunks() throws Exception {
+        EnumColumnCodec<TestEnumNoJsonCreator> codec = EnumColumnCodec.forClass(TestEnumNoJsonCreator.class);
+        byte[] column = new byte[2];
+        try (JsonParser jp = FACTORY.createParser("[1, \"Two\", \"3\", null, \"Four\"] 7")) {
+            jp.nextToken();
+            assertEquals(2, codec.read(jp, column, 0, 2));
+            assertArrayEquals(new byte[] {0, 1}, column);
+            assertEquals(2, codec.read(jp, column, 0, 2));
+            assertArrayEquals(new byte[] {2, EnumColumnCodec.MISSING}, column);
+            assertEquals(1, codec.read(jp, column, 1, 1));
+            assertEquals(EnumColumnCodec.MISSING, column[1]);
+            assertEquals(0, codec.read(jp, column, 0, 2));
+            assertEquals(0, codec.read(jp, column, 0, 2));
+            assertEquals(JsonToken.VALUE_NUMBER_INT, jp.nextToken());
+        }
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = FACTORY.createGenerator(out)) {
+            gen.writeStartArray();
+            EnumColumnCodec.forClass(TestEnumNoJsonCreator.class)
+                    .write(gen, new short[] {2, EnumColumnCodec.MISSING, 0}, 0, 3);
+            EnumColumnCodec.forClass(TestEnumAliases.class).write(gen, new byte[] {0, 0, 1}, 1, 2);
+            EnumColumnCodec.forClass(TestEnumJsonCreatorInt.class).write(gen, new byte[] {1}, 0, 1);
+            gen.writeEndArray();
+        }
+        assertEquals("[3,null,1,1,2,\"Two\"]", out.toString());
+    }
+}
@@ -0,0 +1,98 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A unit test for EnumDeserializerMetrics
+ */
+public class EnumDeserializerMetricsTest {
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public TestEnumJsonCreatorString value;
+    }
+
+    private static ObjectMapper mapperWith(EnumDeserializerListener listener) {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.setConfig(mapper.getDeserializationConfig().withAttribute(EnumDeserializerListener.class, listener));
+        return mapper;
+    }
+
+    @Test
+    public void testCountsPerPath() throws Exception {
+        EnumDeserializerMetrics metrics = new EnumDeserializerMetrics();
+        ObjectMapper mapper = mapperWith(metrics);
+        mapper.readValue("1", TestEnumNoJsonCreator.class);
+        mapper.readValue("\"2\"", TestEnumNoJsonCreator.class);
+        mapper.readValue("\"Three\"", TestEnumNoJsonCreator.class);
+        mapper.readValue("\"Four\"", TestEnumNoJsonCreator.class);
+        mapper.readValue("{\"value\": null}", TestClass.class);
+        mapper.readValue("{\"value\": \"One\"}", TestClass.class);
+
+        assertEquals(1, metrics.getCount(TestEnumNoJsonCreator.class, EnumDeserializerListener.Path.INT));
+        assertEquals(1, metrics.getCount(TestEnumNoJsonCreator.class, EnumDeserializerListener.Path.NUMERIC_STRING));
+        assertEquals(2, metrics.getCount(TestEnumNoJsonCreator.class, EnumDeserializerListener.Path.NAME));
+        assertEquals(1, metrics.getMissCount(TestEnumNoJsonCreator.class, EnumDeserializerListener.Path.NAME));
+        assertEquals(1, metrics.getCount(TestEnumJsonCreatorString.class,
+                EnumDeserializerListener.Path.STRING_CREATOR));
+        assertEquals(0, metrics.getMissCount(TestEnumJsonCreatorString.class,
+                EnumDeserializerListener.Path.NULL));
+
+        Map<String, Long> counts = metrics.getCounts();
+        assertEquals(Long.valueOf(2), counts.get(TestEnumNoJsonCreator.class.getName() + ":NAME"));
+        assertEquals(Long.valueOf(1), metrics.getMisses().get(TestEnumNoJsonCreator.class.getName() + ":NAME"));
+        assertTrue(metrics.getLatencyHistograms().isEmpty());
+
+        metrics.reset();
+        assertTrue(metrics.getCounts().isEmpty());
+    }
+
+    @Test
+    public void testPrefetchingReader() throws Exception {
+        EnumDeserializerMetrics metrics = new EnumDeserializerMetrics();
+        TestEnumNoJsonCreator[] values = mapperWith(metrics).readerFor(TestEnumNoJsonCreator[].class)
+                .readValue("[1, \"Two\"]");
+        assertEquals(2, values.length);
+        assertEquals(1, metrics.getCount(TestEnumNoJsonCreator.class, EnumDeserializerListener.Path.INT));
+        assertEquals(TestEnumNoJsonCreator.Two, new ObjectMapper().readerFor(TestEnumNoJsonCreator.class)
+                .readValue("2"));
+    }
+
+    @Test
+    public void testLatencyHistogram() throws Exception {
+        EnumDeserializerMetrics metrics = new EnumDeserializerMetrics(1);
+        ObjectMapper mapper = mapperWith(metrics);
+        for (int i = 0; i < 10; i++) {
+            mapper.readValue("\"One\"", TestEnumNoJsonCreator.class);
+        }
+        long[] histogram = metrics.getLatencyHistograms().get(TestEnumNoJsonCreator.class.getName() + ":NAME");
+        long total = 0;
+        for (long bucket : histogram) {
+            total += bucket;
+        }
+        assertEquals(10, total);
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        EnumDeserializerMetrics metrics = new EnumDeserializerMetrics();
+        mapperWith(metrics).readValue("1", TestEnumNoJsonCreator.class);
+        ObjectName name = metrics.registerMBean("test");
+        try {
+            Object counts = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Counts");
+            assertTrue(counts.toString().contains(TestEnumNoJsonCreator.class.getName() + ":INT"));
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+}
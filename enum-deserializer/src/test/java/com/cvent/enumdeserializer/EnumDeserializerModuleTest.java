@@ -0,0 +1,123 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A unit test for EnumDeserializerModule
+ */
+public class EnumDeserializerModuleTest {
+
+    /**
+     * Marker for enums the module should apply to
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    private @interface LegacyCodes {
+    }
+
+    /**
+     * Enum that isn't annotated to use EnumDeserializer
+     */
+    public enum Unannotated {
+        One(1),
+        Two(2),
+        Three(3);
+
+        private final int value;
+        Unannotated(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Enum only selected by annotation
+     */
+    @LegacyCodes
+    public enum Marked {
+        Ten(10),
+        Twenty(20);
+
+        private final int value;
+        Marked(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Enum that can't be resolved because two constants share a code
+     */
+    public enum DuplicateCodes {
+        One(1),
+        Uno(1);
+
+        private final int value;
+        DuplicateCodes(int value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    public void testAppliesToAllEnums() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new EnumDeserializerModule());
+        assertEquals(Unannotated.Two, mapper.readValue("2", Unannotated.class));
+        assertEquals(Unannotated.Two, mapper.readValue("\"2\"", Unannotated.class));
+        assertEquals(Marked.Twenty, mapper.readValue("20", Marked.class));
+    }
+
+    @Test
+    public void testAppliesToCollectionElements() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new EnumDeserializerModule());
+        List<Unannotated> values = mapper.readValue("[1, \"2\", \"Three\"]", new TypeReference<List<Unannotated>>() {
+        });
+        assertEquals(Arrays.asList(Unannotated.One, Unannotated.Two, Unannotated.Three), values);
+    }
+
+    @Test
+    public void testFiltersByPackage() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(
+                new EnumDeserializerModule().forPackages("com.example"));
+        // stock jackson reads ints as ordinals
+        assertEquals(Unannotated.Three, mapper.readValue("2", Unannotated.class));
+
+        mapper = new ObjectMapper().registerModule(
+                new EnumDeserializerModule().forPackages("com.cvent.enumdeserializer"));
+        assertEquals(Unannotated.Two, mapper.readValue("2", Unannotated.class));
+    }
+
+    @Test
+    public void testFiltersByAnnotation() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(
+                new EnumDeserializerModule().forAnnotated(LegacyCodes.class));
+        assertEquals(Marked.Twenty, mapper.readValue("20", Marked.class));
+        assertEquals(Unannotated.Three, mapper.readValue("2", Unannotated.class));
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().registerModule(new EnumDeserializerModule()
+                .warmUp(Arrays.asList(Unannotated.class, Marked.class, TestEnumNoJsonCreator.class)));
+        assertEquals(Unannotated.One, mapper.readValue("1", Unannotated.class));
+    }
+
+    @Test
+    public void testWarmUpFailsForUnresolvableEnums() {
+        try {
+            new ObjectMapper().registerModule(new EnumDeserializerModule()
+                    .warmUp(Collections.singletonList(DuplicateCodes.class)));
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().contains("share the same code 1"));
+            return;
+        }
+        throw new AssertionError("expected warm up to fail");
+    }
+}
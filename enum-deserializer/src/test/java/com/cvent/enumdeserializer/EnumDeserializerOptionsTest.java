@@ -0,0 +1,100 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for merging the options of a property with the options of its enum
+ */
+public class EnumDeserializerOptionsTest {
+
+    /**
+     * Enum ignoring case and failing on unknown values
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.TRUE, onUnknown = UnknownValuePolicy.FAIL)
+    public enum Strict {
+        One(1),
+        Two(2),
+        @JsonEnumDefaultValue
+        Unknown(0);
+
+        private final int code;
+
+        Strict(int code) {
+            this.code = code;
+        }
+    }
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        @EnumDeserializerOptions(inputFormat = InputFormat.NAMES_ONLY)
+        public Strict namesOnly;
+
+        @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.FALSE, onUnknown = UnknownValuePolicy.NULL)
+        public Strict overridden;
+
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.DEFAULT)
+        public Strict withDefault;
+
+        public Strict plain;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static TestClass read(String json) throws Exception {
+        return OBJECT_MAPPER.readValue(json, TestClass.class);
+    }
+
+    @Test
+    public void testPropertySettingOnlyTheFormatInheritsTheRest() throws Exception {
+        assertEquals(Strict.Two, read("{\"namesOnly\": \"two\"}").namesOnly);
+        try {
+            read("{\"namesOnly\": \"Three\"}");
+            fail();
+        } catch (UnknownEnumValueException ex) {
+            assertEquals("Three", ex.getValue());
+        }
+        try {
+            read("{\"namesOnly\": 1}");
+            fail();
+        } catch (JsonMappingException ex) {
+            // codes aren't accepted at all, so they aren't unknown values
+            assertFalse(ex instanceof UnknownEnumValueException);
+        }
+    }
+
+    @Test
+    public void testPropertyOverridesWhatItSets() throws Exception {
+        assertNull(read("{\"overridden\": \"two\"}").overridden);
+        assertNull(read("{\"overridden\": \"Three\"}").overridden);
+        assertEquals(Strict.Two, read("{\"overridden\": 2}").overridden);
+    }
+
+    @Test
+    public void testPropertyOverridingThePolicyKeepsTheCase() throws Exception {
+        assertEquals(Strict.One, read("{\"withDefault\": \"ONE\"}").withDefault);
+        assertEquals(Strict.Unknown, read("{\"withDefault\": \"Three\"}").withDefault);
+    }
+
+    @Test
+    public void testUnannotatedPropertyUsesTheEnum() throws Exception {
+        assertEquals(Strict.One, read("{\"plain\": \"one\"}").plain);
+        try {
+            read("{\"plain\": 3}");
+            fail();
+        } catch (UnknownEnumValueException ex) {
+            assertEquals("3", ex.getValue());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cvent.enumdeserializer;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -10,9 +11,11 @@ import java.util.Collection;
 
 import static junit.framework.TestCase.assertNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
 
 /**
- * A unit test for EnumDeserializer
+ * A unit test for EnumDeserializer. enum-deserializer-compatibility also runs it against every jackson-databind version
+ * in the matrix, so it only uses APIs that exist in all of them.
  *
  * @author dholsopple@cvent.com
  */
@@ -33,6 +36,20 @@ public class EnumDeserializerTest {
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    /**
+     * Root-level test cases only supportable for jackson-databind>=2.5
+     */
+    private static final boolean ROOT_LEVEL_SUPPORTED = OBJECT_MAPPER.version().getMajorVersion() > 2 ||
+            OBJECT_MAPPER.version().getMinorVersion() >= 5;
+
+    /**
+     * Class to deserialize enums as a property
+     * @param <T> the enum type
+     */
+    public static class Holder<T> {
+        public T value;
+    }
+
     private final Class<?> enumClass;
     private final Object enumOneVariant;
 
@@ -43,21 +60,62 @@ public class EnumDeserializerTest {
 
     @Test
     public void testDeserializeFromInt() throws Exception {
-        assertEquals(this.enumOneVariant, OBJECT_MAPPER.readValue("1", this.enumClass));
+        assertEquals(this.enumOneVariant, readRootLevel("1"));
     }
 
     @Test
     public void testDeserializeFromIntString() throws Exception {
-        assertEquals(this.enumOneVariant, OBJECT_MAPPER.readValue("\"1\"", this.enumClass));
+        assertEquals(this.enumOneVariant, readRootLevel("\"1\""));
+    }
+
+    @Test
+    public void testDeserializeFromSignedIntString() throws Exception {
+        assertEquals(this.enumOneVariant, readRootLevel("\"+1\""));
     }
 
     @Test
     public void testDeserializeFromName() throws Exception {
-        assertEquals(this.enumOneVariant, OBJECT_MAPPER.readValue("\"One\"", this.enumClass));
+        assertEquals(this.enumOneVariant, readRootLevel("\"One\""));
     }
 
     @Test
     public void testDeserializeFromNull() throws Exception {
-        assertNull(OBJECT_MAPPER.readValue("null", this.enumClass));
+        assertNull(readRootLevel("null"));
+    }
+
+    @Test
+    public void testDeserializeFromIntProperty() throws Exception {
+        assertEquals(this.enumOneVariant, readProperty("1"));
+    }
+
+    @Test
+    public void testDeserializeFromIntStringProperty() throws Exception {
+        assertEquals(this.enumOneVariant, readProperty("\"1\""));
+    }
+
+    @Test
+    public void testDeserializeFromSignedIntStringProperty() throws Exception {
+        assertEquals(this.enumOneVariant, readProperty("\"+1\""));
+    }
+
+    @Test
+    public void testDeserializeFromNameProperty() throws Exception {
+        assertEquals(this.enumOneVariant, readProperty("\"One\""));
+    }
+
+    @Test
+    public void testDeserializeFromNullProperty() throws Exception {
+        assertNull(readProperty("null"));
+    }
+
+    private Object readRootLevel(String json) throws Exception {
+        assumeTrue(ROOT_LEVEL_SUPPORTED);
+        return OBJECT_MAPPER.readValue(json, this.enumClass);
+    }
+
+    private Object readProperty(String json) throws Exception {
+        JavaType type = OBJECT_MAPPER.getTypeFactory().constructParametricType(Holder.class, this.enumClass);
+        Holder<?> holder = OBJECT_MAPPER.readValue("{\"value\": " + json + "}", type);
+        return holder.value;
     }
 }
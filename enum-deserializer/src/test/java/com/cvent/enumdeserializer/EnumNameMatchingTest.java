@@ -0,0 +1,54 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A unit test for matching enums by renamed, aliased and case-insensitive names
+ */
+public class EnumNameMatchingTest {
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public TestEnumAliases exact;
+
+        @EnumDeserializerOptions(caseInsensitive = OptionalBoolean.TRUE)
+        public TestEnumAliases caseInsensitive;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testDeserializeFromRename() throws Exception {
+        assertEquals(TestEnumAliases.One, OBJECT_MAPPER.readValue("\"uno\"", TestEnumAliases.class));
+        assertEquals(TestEnumAliases.One, OBJECT_MAPPER.readValue("\"One\"", TestEnumAliases.class));
+    }
+
+    @Test
+    public void testDeserializeFromAlias() throws Exception {
+        assertEquals(TestEnumAliases.Two, OBJECT_MAPPER.readValue("\"dos\"", TestEnumAliases.class));
+        assertEquals(TestEnumAliases.Two, OBJECT_MAPPER.readValue("\"deux\"", TestEnumAliases.class));
+        assertEquals(TestEnumAliases.Two, OBJECT_MAPPER.readValue("\"Two\"", TestEnumAliases.class));
+    }
+
+    @Test
+    public void testDeserializeCaseSensitiveByDefault() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"exact\": \"THREE\"}", TestClass.class);
+        assertNull(value.exact);
+    }
+
+    @Test
+    public void testDeserializeCaseInsensitiveProperty() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"caseInsensitive\": \"THREE\"}", TestClass.class);
+        assertEquals(TestEnumAliases.Three, value.caseInsensitive);
+        value = OBJECT_MAPPER.readValue("{\"caseInsensitive\": \"UNO\"}", TestClass.class);
+        assertEquals(TestEnumAliases.One, value.caseInsensitive);
+        value = OBJECT_MAPPER.readValue("{\"caseInsensitive\": \"Deux\"}", TestClass.class);
+        assertEquals(TestEnumAliases.Two, value.caseInsensitive);
+    }
+}
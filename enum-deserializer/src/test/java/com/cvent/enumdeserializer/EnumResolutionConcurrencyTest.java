@@ -0,0 +1,129 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A stress test resolving and deserializing enums from many threads at once
+ */
+public class EnumResolutionConcurrencyTest {
+
+    private static final int THREADS = 64;
+
+    /**
+     * Enum counting how often its creator is called. Resolving it calls the creator once per constant to check that the
+     * codes in its field read back, so the count tells how often it was resolved.
+     */
+    public enum Counted {
+        One(1),
+        Two(2),
+        Three(3);
+
+        static final AtomicInteger CREATOR_CALLS = new AtomicInteger();
+
+        private final int code;
+
+        Counted(int code) {
+            this.code = code;
+        }
+
+        @JsonCreator
+        public static Counted fromInt(int code) {
+            CREATOR_CALLS.incrementAndGet();
+            return values()[code - 1];
+        }
+    }
+
+    /**
+     * Enum that can't be resolved
+     */
+    public enum DuplicateCodes {
+        One(1),
+        AlsoOne(1);
+
+        private final int code;
+
+        DuplicateCodes(int code) {
+            this.code = code;
+        }
+    }
+
+    private static <T> List<T> runConcurrently(Callable<T> task) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testResolvedOnceAcrossThreads() throws Exception {
+        List<EnumResolution<Counted>> resolutions = runConcurrently(() -> EnumResolution.forClass(Counted.class));
+        for (EnumResolution<Counted> resolution : resolutions) {
+            assertSame(resolutions.get(0), resolution);
+        }
+        assertEquals(Counted.values().length, Counted.CREATOR_CALLS.get());
+        assertTrue(resolutions.get(0).hasCodes());
+    }
+
+    @Test
+    public void testFailureReachesEveryThread() throws Exception {
+        List<String> messages = runConcurrently(() -> {
+            try {
+                EnumResolution.forClass(DuplicateCodes.class);
+                return null;
+            } catch (IllegalArgumentException ex) {
+                return ex.getMessage();
+            }
+        });
+        for (String message : messages) {
+            assertTrue(message, message != null && message.contains("share the same code 1"));
+        }
+    }
+
+    @Test
+    public void testDeserializeAcrossThreads() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Integer> mismatches = runConcurrently(() -> {
+            int count = 0;
+            for (int i = 0; i < 10_000; i++) {
+                TestEnumNoJsonCreator expected = TestEnumNoJsonCreator.values()[i % 3];
+                String json = i % 2 == 0 ? Integer.toString(i % 3 + 1) : "\"" + expected.name() + "\"";
+                if (mapper.readValue(json, TestEnumNoJsonCreator.class) != expected) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        for (int mismatch : mismatches) {
+            assertEquals(0, mismatch);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.cvent.enumdeserializer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A unit test for EnumResolution
+ */
+public class EnumResolutionTest {
+
+    @Test
+    public void testResolutionIsSharedPerClass() {
+        assertSame(EnumResolution.forClass(TestEnumNoJsonCreator.class),
+                EnumResolution.forClass(TestEnumNoJsonCreator.class));
+    }
+
+    @Test
+    public void testResolutionIsPerClass() {
+        EnumResolution<TestEnumNoJsonCreator> noCreator = EnumResolution.forClass(TestEnumNoJsonCreator.class);
+        EnumResolution<TestEnumJsonCreatorInt> intCreator = EnumResolution.forClass(TestEnumJsonCreatorInt.class);
+        assertEquals(TestEnumNoJsonCreator.class, noCreator.getTargetClass());
+        assertEquals(TestEnumJsonCreatorInt.class, intCreator.getTargetClass());
+        assertEquals(TestEnumNoJsonCreator.Two, noCreator.fromInt(2));
+        assertEquals(TestEnumJsonCreatorInt.Two, intCreator.fromInt(2));
+    }
+}
@@ -0,0 +1,119 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A unit test for EnumSerializer
+ */
+public class EnumSerializerTest {
+
+    /**
+     * Mixin to use the serializer we want to test
+     */
+    @JsonSerialize(using = EnumSerializer.class)
+    private static class SerializerMixin {
+    }
+
+    /**
+     * Class to serialize in tests
+     */
+    private static class TestClass {
+        public TestEnumNoJsonCreator code;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        public TestEnumNoJsonCreator name;
+    }
+
+    /**
+     * Class forcing codes for an enum that doesn't have any
+     */
+    private static class TestClassNoCodes {
+        @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+        public TestEnumJsonCreatorInt value = TestEnumJsonCreatorInt.One;
+    }
+
+    /**
+     * Class writing a renamed constant by name
+     */
+    private static class TestClassRenamed {
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        public TestEnumAliases value = TestEnumAliases.One;
+    }
+
+    /**
+     * Class holding enums in a collection, and in properties not declared as the enum
+     */
+    private static class TestClassMixed {
+        public List<TestEnumNoJsonCreator> list = Arrays.asList(TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Three);
+
+        public List<Object> objects = Arrays.<Object>asList(TestEnumNoJsonCreator.Two, TestEnumJsonCreatorInt.Two,
+                TestEnumNoJsonCreator.Two);
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static {
+        for (Class<?> enumClass : new Class<?>[] {TestEnumNoJsonCreator.class, TestEnumNoJsonCreatorLong.class,
+                TestEnumJsonCreatorInt.class, TestEnumJsonCreatorString.class, TestEnumAliases.class}) {
+            OBJECT_MAPPER.addMixIn(enumClass, SerializerMixin.class);
+        }
+    }
+
+    @Test
+    public void testSerializeFieldCodes() throws Exception {
+        assertEquals("2", OBJECT_MAPPER.writeValueAsString(TestEnumNoJsonCreator.Two));
+        assertEquals("3", OBJECT_MAPPER.writeValueAsString(TestEnumNoJsonCreatorLong.Three));
+        assertEquals("1", OBJECT_MAPPER.writeValueAsString(TestEnumJsonCreatorString.One));
+    }
+
+    @Test
+    public void testSerializeNamesWithoutCodes() throws Exception {
+        assertEquals("\"Two\"", OBJECT_MAPPER.writeValueAsString(TestEnumJsonCreatorInt.Two));
+    }
+
+    @Test
+    public void testSerializeRoundTrips() throws Exception {
+        for (TestEnumNoJsonCreator value : TestEnumNoJsonCreator.values()) {
+            assertEquals(value, OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(value),
+                    TestEnumNoJsonCreator.class));
+        }
+        for (TestEnumJsonCreatorInt value : TestEnumJsonCreatorInt.values()) {
+            assertEquals(value, OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(value),
+                    TestEnumJsonCreatorInt.class));
+        }
+    }
+
+    @Test
+    public void testSerializePropertyShape() throws Exception {
+        TestClass value = new TestClass();
+        value.code = TestEnumNoJsonCreator.Three;
+        value.name = TestEnumNoJsonCreator.Three;
+        assertEquals("{\"code\":3,\"name\":\"Three\"}", OBJECT_MAPPER.writeValueAsString(value));
+    }
+
+    @Test
+    public void testSerializeRename() throws Exception {
+        TestClassRenamed value = new TestClassRenamed();
+        assertEquals("{\"value\":\"uno\"}", OBJECT_MAPPER.writeValueAsString(value));
+    }
+
+    @Test
+    public void testSerializeCollectionsAndMixedEnums() throws Exception {
+        assertEquals("{\"list\":[1,3],\"objects\":[2,\"Two\",2]}",
+                OBJECT_MAPPER.writeValueAsString(new TestClassMixed()));
+    }
+
+    @Test(expected = JsonMappingException.class)
+    public void testSerializeNumberWithoutCodes() throws Exception {
+        OBJECT_MAPPER.writeValueAsString(new TestClassNoCodes());
+    }
+}
@@ -0,0 +1,103 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A unit test for reading and writing EnumSets as bitmasks
+ */
+public class EnumSetBitmaskTest {
+
+    /**
+     * Enum with codes that need two words
+     */
+    public enum SparseFlags {
+        Low(1),
+        Middle(63),
+        High(100);
+
+        private final int code;
+
+        SparseFlags(int code) {
+            this.code = code;
+        }
+    }
+
+    /**
+     * Class to serialize in tests
+     */
+    private static class TestClass {
+        @EnumSetBitmask
+        @JsonSerialize(using = EnumSetSerializer.class)
+        @JsonDeserialize(using = EnumSetDeserializer.class)
+        public EnumSet<TestEnumNoJsonCreator> byOrdinal;
+
+        @EnumSetBitmask(key = EnumSetBitmask.Key.CODE)
+        @JsonSerialize(using = EnumSetSerializer.class)
+        @JsonDeserialize(using = EnumSetDeserializer.class)
+        public EnumSet<TestEnumNoJsonCreator> byCode;
+
+        @EnumSetBitmask(key = EnumSetBitmask.Key.CODE)
+        @JsonSerialize(using = EnumSetSerializer.class)
+        @JsonDeserialize(using = EnumSetDeserializer.class)
+        public EnumSet<SparseFlags> words;
+
+        @JsonSerialize(using = EnumSetSerializer.class)
+        public EnumSet<TestEnumNoJsonCreator> array;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testWrite() throws Exception {
+        TestClass value = new TestClass();
+        value.byOrdinal = EnumSet.of(TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Three);
+        value.byCode = EnumSet.of(TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Three);
+        value.words = EnumSet.of(SparseFlags.Middle, SparseFlags.High);
+        value.array = EnumSet.of(TestEnumNoJsonCreator.Two);
+        assertEquals("{\"byOrdinal\":5,\"byCode\":10,\"words\":[[" + Long.MIN_VALUE + ",68719476736]],\"array\":[2]}",
+                OBJECT_MAPPER.writeValueAsString(value));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        TestClass value = new TestClass();
+        value.byOrdinal = EnumSet.allOf(TestEnumNoJsonCreator.class);
+        value.byCode = EnumSet.noneOf(TestEnumNoJsonCreator.class);
+        value.words = EnumSet.allOf(SparseFlags.class);
+        TestClass read = OBJECT_MAPPER.readValue(OBJECT_MAPPER.writeValueAsString(value), TestClass.class);
+        assertEquals(value.byOrdinal, read.byOrdinal);
+        assertEquals(value.byCode, read.byCode);
+        assertEquals(value.words, read.words);
+    }
+
+    @Test
+    public void testReadArrayForm() throws Exception {
+        TestClass read = OBJECT_MAPPER.readValue(
+                "{\"byOrdinal\": [\"One\", 2], \"byCode\": [3], \"words\": [\"Low\", \"High\"]}", TestClass.class);
+        assertEquals(EnumSet.of(TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Two), read.byOrdinal);
+        assertEquals(EnumSet.of(TestEnumNoJsonCreator.Three), read.byCode);
+        assertEquals(EnumSet.of(SparseFlags.Low, SparseFlags.High), read.words);
+    }
+
+    @Test
+    public void testReadCodeArrayOfEnumNeedingWords() throws Exception {
+        TestClass read = OBJECT_MAPPER.readValue("{\"words\": [1, 100]}", TestClass.class);
+        assertEquals(EnumSet.of(SparseFlags.Low, SparseFlags.High), read.words);
+        read = OBJECT_MAPPER.readValue("{\"words\": [63, \"Low\"]}", TestClass.class);
+        assertEquals(EnumSet.of(SparseFlags.Low, SparseFlags.Middle), read.words);
+    }
+
+    @Test
+    public void testUnknownBitsAreIgnored() throws Exception {
+        TestClass read = OBJECT_MAPPER.readValue("{\"byOrdinal\": 10, \"words\": [[1, 0, 7]]}", TestClass.class);
+        assertEquals(EnumSet.of(TestEnumNoJsonCreator.Two), read.byOrdinal);
+        assertEquals(EnumSet.noneOf(SparseFlags.class), read.words);
+    }
+}
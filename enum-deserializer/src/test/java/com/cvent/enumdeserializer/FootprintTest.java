@@ -0,0 +1,64 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A unit test for the footprint report
+ */
+public class FootprintTest {
+
+    /**
+     * Not read by any other test, so its caches start out empty
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    private enum Planet {
+        Mercury, Venus, Earth
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new EnumDeserializerModule());
+
+    @Test
+    public void testReportListsResolvedEnums() throws Exception {
+        MAPPER.readValue("\"Two\"", TestEnumNoJsonCreator.class);
+        MAPPER.readValue("\"Three\"", TestEnumJsonCreatorString.class);
+        FootprintReport report = EnumDeserializer.getFootprint();
+        long total = 0;
+        long previous = Long.MAX_VALUE;
+        boolean found = false;
+        for (EnumFootprint footprint : report.getEnums()) {
+            assertTrue(footprint.getRetainedBytes() > 0);
+            assertTrue(footprint.getRetainedBytes() <= previous);
+            previous = footprint.getRetainedBytes();
+            total += footprint.getRetainedBytes();
+            found |= footprint.getEnumClass() == TestEnumNoJsonCreator.class;
+        }
+        assertTrue(found);
+        assertEquals(total, report.getTotalBytes());
+    }
+
+    @Test
+    public void testSharedStringCacheAllocatedOnDemand() throws Exception {
+        long before = EnumDeserializer.getFootprint(Planet.class).getRetainedBytes();
+        // field names are shared instances, so reading map keys fills the cache
+        Map<Planet, Integer> map = MAPPER.readValue("{\"Earth\": 3}",
+                TypeFactory.defaultInstance().constructMapType(Map.class, Planet.class, Integer.class));
+        assertEquals(1, map.size());
+        long after = EnumDeserializer.getFootprint(Planet.class).getRetainedBytes();
+        assertTrue(before + " < " + after, before < after);
+    }
+
+    @Test
+    public void testSmallEnumStaysSmall() {
+        // three constants with compact codes: a few hundred bytes, not kilobytes
+        long bytes = EnumDeserializer.getFootprint(TestEnumNoJsonCreatorLong.class).getRetainedBytes();
+        assertTrue(String.valueOf(bytes), bytes < 1024);
+    }
+}
@@ -0,0 +1,171 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for strict input formats
+ */
+public class InputFormatTest {
+
+    /**
+     * Enum only read from names
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(inputFormat = InputFormat.NAMES_ONLY)
+    public enum NamesOnly {
+        One(1),
+        Two(2);
+
+        private final int value;
+        NamesOnly(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Enum whose string creator is passed numeric strings as they are
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(inputFormat = InputFormat.NAMES_ONLY)
+    public enum NumericNames {
+        Dial9,
+        Dial0;
+
+        @JsonCreator
+        public static NumericNames fromString(String value) {
+            return "9".equals(value) ? Dial9 : "0".equals(value) ? Dial0 : null;
+        }
+    }
+
+    /**
+     * Enum without codes
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum NoCodesEnum {
+        One,
+        Two
+    }
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        public List<NamesOnly> names;
+        public List<NumericNames> numericNames;
+        @EnumDeserializerOptions(inputFormat = InputFormat.CODES_ONLY)
+        public List<TestEnumNoJsonCreator> codes;
+        @EnumDeserializerOptions(inputFormat = InputFormat.CODES_AND_NUMERIC_STRINGS)
+        public List<TestEnumNoJsonCreator> numericCodes;
+        @EnumDeserializerOptions(inputFormat = InputFormat.CODES_ONLY, onUnknown = UnknownValuePolicy.FAIL)
+        public TestEnumNoJsonCreator failing;
+        public TestEnumNoJsonCreator inherited;
+    }
+
+    /**
+     * Class with a strict format its enum can't be read in
+     */
+    private static class NoCodes {
+        @EnumDeserializerOptions(inputFormat = InputFormat.CODES_ONLY)
+        public NoCodesEnum value;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testNamesOnly() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"names\": [\"Two\", \"1\", null, \"Three\"], " +
+                "\"numericNames\": [\"9\", \"Dial0\"]}", TestClass.class);
+        assertEquals(Arrays.asList(NamesOnly.Two, null, null, null), value.names);
+        assertEquals(Arrays.asList(NumericNames.Dial9, null), value.numericNames);
+        assertRejected("{\"names\": [1]}");
+    }
+
+    @Test
+    public void testCodesOnly() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"codes\": [2, null, 7]}", TestClass.class);
+        assertEquals(Arrays.asList(TestEnumNoJsonCreator.Two, null, null), value.codes);
+        assertRejected("{\"codes\": [\"Two\"]}");
+        assertRejected("{\"codes\": [\"2\"]}");
+    }
+
+    @Test
+    public void testCodesAndNumericStrings() throws Exception {
+        TestClass value = OBJECT_MAPPER.readValue("{\"numericCodes\": [2, \"3\", \"-1\"]}", TestClass.class);
+        assertEquals(Arrays.asList(TestEnumNoJsonCreator.Two, TestEnumNoJsonCreator.Three, null), value.numericCodes);
+        assertRejected("{\"numericCodes\": [\"Two\"]}");
+    }
+
+    @Test
+    public void testUnknownPolicyReportsInFormat() throws Exception {
+        try {
+            OBJECT_MAPPER.readValue("{\"failing\": 7}", TestClass.class);
+            fail("expected unknown code to fail");
+        } catch (JsonMappingException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("7"));
+        }
+    }
+
+    @Test
+    public void testConfigAttribute() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        EnumDeserializerConfig config = new EnumDeserializerConfig()
+                .withInputFormat(InputFormat.CODES_ONLY)
+                .withInputFormat(TestEnumJsonCreatorString.class, InputFormat.NAMES_ONLY);
+        mapper.setConfig(mapper.getDeserializationConfig().withAttribute(EnumDeserializerConfig.class, config));
+
+        TestClass value = mapper.readValue("{\"inherited\": 3, \"names\": [\"One\"]}", TestClass.class);
+        assertEquals(TestEnumNoJsonCreator.Three, value.inherited);
+        // the annotation of the enum takes precedence over the config
+        assertEquals(Arrays.asList(NamesOnly.One), value.names);
+        assertEquals(TestEnumJsonCreatorString.Three, mapper.readValue("{\"v\": \"Three\"}",
+                StringHolder.class).v);
+        try {
+            mapper.readValue("{\"inherited\": \"Three\"}", TestClass.class);
+            fail("expected name to be rejected");
+        } catch (JsonMappingException expected) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConfigRejectsInherit() {
+        new EnumDeserializerConfig().withInputFormat(InputFormat.INHERIT);
+    }
+
+    @Test
+    public void testCodesFormatNeedsCodes() throws Exception {
+        try {
+            OBJECT_MAPPER.readValue("{\"value\": 1}", NoCodes.class);
+            fail("expected enum without codes to be rejected");
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("CODES_ONLY needs codes"));
+        }
+    }
+
+    /**
+     * Class holding an enum with a string creator
+     */
+    private static class StringHolder {
+        public TestEnumJsonCreatorString v;
+    }
+
+    private static void assertRejected(String json) throws Exception {
+        try {
+            TestClass value = OBJECT_MAPPER.readValue(json, TestClass.class);
+            fail("expected " + json + " to be rejected, got " + value);
+        } catch (JsonMappingException expected) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cvent.enumdeserializer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * A unit test for IntCodeIndex
+ */
+public class IntCodeIndexTest {
+
+    @Test
+    public void testCompactCodes() {
+        IntCodeIndex<String> index = IntCodeIndex.build(new String[] {"Zero", "One", "Five"}, new long[] {0, 1, 5});
+        assertEquals("Zero", index.get(0));
+        assertEquals("One", index.get(1));
+        assertEquals("Five", index.get(5));
+        assertNull(index.get(2));
+        assertNull(index.get(-1));
+        assertNull(index.get(6));
+        assertNull(index.get(Long.MIN_VALUE));
+        assertNull(index.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSparseCodes() {
+        String[] constants = new String[100];
+        long[] codes = new long[100];
+        for (int i = 0; i < constants.length; i++) {
+            constants[i] = "Value" + i;
+            codes[i] = i * 1_000_003L - 50_000_000L;
+        }
+        IntCodeIndex<String> index = IntCodeIndex.build(constants, codes);
+        for (int i = 0; i < constants.length; i++) {
+            assertEquals(constants[i], index.get(codes[i]));
+            assertNull(index.get(codes[i] + 1));
+        }
+    }
+
+    @Test
+    public void testExtremeCodes() {
+        IntCodeIndex<String> index = IntCodeIndex.build(new String[] {"Min", "Zero", "Max"},
+                new long[] {Long.MIN_VALUE, 0, Long.MAX_VALUE});
+        assertEquals("Min", index.get(Long.MIN_VALUE));
+        assertEquals("Zero", index.get(0));
+        assertEquals("Max", index.get(Long.MAX_VALUE));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertNull(IntCodeIndex.build(new String[0], new long[0]).get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateCompactCodes() {
+        IntCodeIndex.build(new String[] {"One", "Uno"}, new long[] {1, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateSparseCodes() {
+        IntCodeIndex.build(new String[] {"One", "Big", "Uno"}, new long[] {1, 1L << 40, 1});
+    }
+
+    @Test
+    public void testSparseCodesDoNotAliasAcrossIntRange() {
+        IntCodeIndex<String> index = IntCodeIndex.build(new String[] {"One", "Million"}, new long[] {1, 1_000_000});
+        assertEquals("One", index.get(1));
+        assertNull(index.get(1 + (1L << 32)));
+        assertNull(index.get(1_000_000 - (1L << 32)));
+    }
+
+    @Test
+    public void testManyConstants() {
+        // more constants than fit in a byte per slot
+        String[] constants = new String[1000];
+        long[] codes = new long[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            constants[i] = "Value" + i;
+            codes[i] = i * 7L;
+        }
+        IntCodeIndex<String> index = IntCodeIndex.build(constants, codes);
+        for (int i = 0; i < constants.length; i++) {
+            assertEquals(constants[i], index.get(codes[i]));
+        }
+    }
+
+    @Test
+    public void testSharedConstants() {
+        String[] universe = {"Zero", "One"};
+        IntCodeIndex<String> index = IntCodeIndex.build(universe, new String[] {"One", "One", "Zero"},
+                new long[] {1, 10, 0});
+        assertSame(universe[1], index.get(10));
+        assertSame(universe[0], index.get(0));
+    }
+
+    @Test
+    public void testDenseCodesSizedToRange() {
+        IntCodeIndex<String> low = IntCodeIndex.build(new String[] {"A", "B"}, new long[] {0, 10});
+        IntCodeIndex<String> high = IntCodeIndex.build(new String[] {"A", "B"}, new long[] {1000, 1010});
+        assertEquals(low.footprint(), high.footprint());
+    }
+}
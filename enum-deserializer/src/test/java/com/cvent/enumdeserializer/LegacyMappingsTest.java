@@ -0,0 +1,122 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for legacy codes and names read from mapping files
+ */
+public class LegacyMappingsTest {
+
+    /**
+     * Enum with codes in a field and mappings in the default properties resource
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum FieldEnum {
+        One(1),
+        Two(2),
+        Three(3);
+
+        private final int value;
+
+        FieldEnum(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Enum with creators and mappings in a JSON resource
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(legacyMappings = "legacy/creator-enum.json")
+    public enum CreatorEnum {
+        One,
+        Two;
+
+        @JsonCreator
+        public static CreatorEnum fromInt(int value) {
+            return value == 1 ? One : value == 2 ? Two : null;
+        }
+
+        @JsonCreator
+        public static CreatorEnum fromString(String value) {
+            return "one".equals(value) ? One : "two".equals(value) ? Two : null;
+        }
+    }
+
+    /**
+     * Enum whose mappings refer to a constant that doesn't exist
+     */
+    @EnumDeserializerOptions(legacyMappings = "legacy/unknown-constant.properties")
+    public enum UnknownConstantEnum {
+        One
+    }
+
+    /**
+     * Enum whose legacy code is also the code of another constant
+     */
+    @EnumDeserializerOptions(legacyMappings = "legacy/duplicate-code.properties")
+    public enum DuplicateCodeEnum {
+        One(1),
+        Two(2);
+
+        private final int value;
+
+        DuplicateCodeEnum(int value) {
+            this.value = value;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testLegacyCodesAndNamesFromProperties() throws Exception {
+        assertEquals(FieldEnum.Two, OBJECT_MAPPER.readValue("17", FieldEnum.class));
+        assertEquals(FieldEnum.Three, OBJECT_MAPPER.readValue("\"-3\"", FieldEnum.class));
+        assertEquals(FieldEnum.Two, OBJECT_MAPPER.readValue("\"Deux\"", FieldEnum.class));
+        assertEquals(FieldEnum.Three, OBJECT_MAPPER.readValue("\"Trois\"", FieldEnum.class));
+        // current codes and names still work
+        assertEquals(FieldEnum.Two, OBJECT_MAPPER.readValue("2", FieldEnum.class));
+        assertEquals(FieldEnum.One, OBJECT_MAPPER.readValue("\"One\"", FieldEnum.class));
+        assertNull(OBJECT_MAPPER.readValue("18", FieldEnum.class));
+        assertTrue(EnumResolution.hasLegacyMappings(FieldEnum.class));
+        assertFalse(EnumResolution.hasLegacyMappings(TestEnumNoJsonCreator.class));
+    }
+
+    @Test
+    public void testLegacyMappingsBeforeCreators() throws Exception {
+        assertEquals(CreatorEnum.One, OBJECT_MAPPER.readValue("100", CreatorEnum.class));
+        assertEquals(CreatorEnum.Two, OBJECT_MAPPER.readValue("\"200\"", CreatorEnum.class));
+        assertEquals(CreatorEnum.One, OBJECT_MAPPER.readValue("\"uno\"", CreatorEnum.class));
+        assertEquals(CreatorEnum.Two, OBJECT_MAPPER.readValue("2", CreatorEnum.class));
+        assertEquals(CreatorEnum.Two, OBJECT_MAPPER.readValue("\"two\"", CreatorEnum.class));
+    }
+
+    @Test
+    public void testUnknownConstant() {
+        try {
+            EnumResolution.forClass(UnknownConstantEnum.class);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("unknown constant Nine"));
+        }
+    }
+
+    @Test
+    public void testLegacyCodeOfAnotherConstant() {
+        try {
+            EnumResolution.forClass(DuplicateCodeEnum.class);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("Two and One"));
+        }
+    }
+}
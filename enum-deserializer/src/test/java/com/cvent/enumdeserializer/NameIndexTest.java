@@ -0,0 +1,77 @@
+package com.cvent.enumdeserializer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A unit test for NameIndex
+ */
+public class NameIndexTest {
+
+    private static final NameIndex<TestEnumNoJsonCreator> INDEX = NameIndex.build(TestEnumNoJsonCreator.values(),
+            new String[] {"One", "Two", "Three"});
+
+    private static TestEnumNoJsonCreator getChars(String name) {
+        char[] buf = ("{\"" + name + "\"}").toCharArray();
+        return INDEX.get(buf, 2, name.length());
+    }
+
+    @Test
+    public void testMatches() {
+        for (TestEnumNoJsonCreator value : TestEnumNoJsonCreator.values()) {
+            assertEquals(value, INDEX.get(value.name()));
+            assertEquals(value, getChars(value.name()));
+        }
+    }
+
+    @Test
+    public void testMisses() {
+        for (String name : new String[] {"", "one", "On", "Ones", "Four"}) {
+            assertNull(INDEX.get(name));
+            assertNull(getChars(name));
+        }
+    }
+
+    @Test
+    public void testIgnoreCase() {
+        assertNull(INDEX.get("tWO"));
+        assertEquals(TestEnumNoJsonCreator.Two, INDEX.getIgnoreCase("tWO"));
+        assertEquals(TestEnumNoJsonCreator.Two, INDEX.getIgnoreCase("xTWOx".toCharArray(), 1, 3));
+        assertNull(INDEX.getIgnoreCase("Four"));
+    }
+
+    @Test
+    public void testEarlierNamesTakePrecedence() {
+        NameIndex<TestEnumNoJsonCreator> index = NameIndex.build(
+                new TestEnumNoJsonCreator[] {TestEnumNoJsonCreator.One, TestEnumNoJsonCreator.Two,
+                        TestEnumNoJsonCreator.Two},
+                new String[] {"Two", "Two", "Deux"});
+        assertEquals(TestEnumNoJsonCreator.One, index.get("Two"));
+        assertEquals(TestEnumNoJsonCreator.Two, index.get("Deux"));
+    }
+
+    @Test
+    public void testEmpty() {
+        NameIndex<TestEnumNoJsonCreator> empty = NameIndex.build(new TestEnumNoJsonCreator[0], new String[0]);
+        assertNull(empty.get("One"));
+        assertNull(empty.get("One".toCharArray(), 0, 3));
+    }
+
+    @Test
+    public void testManyConstants() {
+        // more constants than fit in a byte per slot
+        Integer[] constants = new Integer[1000];
+        String[] names = new String[constants.length];
+        for (int i = 0; i < constants.length; i++) {
+            constants[i] = i;
+            names[i] = "Value" + i;
+        }
+        NameIndex<Integer> index = NameIndex.build(constants, names);
+        for (int i = 0; i < constants.length; i++) {
+            assertEquals(constants[i], index.get(names[i]));
+            assertEquals(constants[i], index.getIgnoreCase(names[i].toUpperCase()));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for pre-resolving enums and the reflection-free mode
+ */
+public class NativeImageSupportTest {
+
+    /**
+     * Enum pre-resolved before reflection is turned off
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum PreResolvedEnum {
+        One(1),
+        Two(2);
+
+        private final int value;
+        PreResolvedEnum(int value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Enum that is never pre-resolved
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum UnresolvedEnum {
+        One,
+        Two
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @After
+    public void restoreReflection() {
+        NativeImageSupport.setReflectionFree(false);
+    }
+
+    @Test
+    public void testPreResolvedEnumsNeedNoReflection() throws Exception {
+        NativeImageSupport.preResolve(Collections.singletonList(PreResolvedEnum.class));
+        NativeImageSupport.setReflectionFree(true);
+        assertTrue(NativeImageSupport.isReflectionFree());
+
+        assertEquals(PreResolvedEnum.Two, OBJECT_MAPPER.readValue("2", PreResolvedEnum.class));
+        assertEquals(PreResolvedEnum.One, OBJECT_MAPPER.readValue("\"One\"", PreResolvedEnum.class));
+        assertEquals(PreResolvedEnum.Two, EnumResolution.forClass(PreResolvedEnum.class).fromInt(2));
+    }
+
+    @Test
+    public void testReflectionFreeRejectsOtherEnums() throws Exception {
+        NativeImageSupport.setReflectionFree(true);
+        try {
+            OBJECT_MAPPER.readValue("\"One\"", UnresolvedEnum.class);
+            fail("expected resolving with reflection to fail");
+        } catch (IllegalStateException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains(UnresolvedEnum.class.getName()));
+        }
+
+        // the failure isn't remembered, the enum resolves once reflection is allowed again
+        NativeImageSupport.setReflectionFree(false);
+        assertFalse(NativeImageSupport.isReflectionFree());
+        assertEquals(UnresolvedEnum.Two, OBJECT_MAPPER.readValue("\"Two\"", UnresolvedEnum.class));
+    }
+}
@@ -0,0 +1,48 @@
+package com.cvent.enumdeserializer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A unit test for NumericText
+ */
+public class NumericTextTest {
+
+    private static long parseChars(String text) {
+        // surround the text with other characters to check that offset and length are respected
+        char[] buf = ("12" + text + "34").toCharArray();
+        return NumericText.parse(buf, 2, text.length());
+    }
+
+    private static void assertParses(long expected, String text) {
+        assertEquals(expected, NumericText.parse(text));
+        assertEquals(expected, parseChars(text));
+    }
+
+    @Test
+    public void testNumbers() {
+        assertParses(0, "0");
+        assertParses(285, "285");
+        assertParses(285, "+285");
+        assertParses(-285, "-285");
+        assertParses(7, "007");
+        assertParses(4_294_967_296L, "4294967296");
+        assertParses(Long.MAX_VALUE, "9223372036854775807");
+        assertParses(-Long.MAX_VALUE, "-9223372036854775807");
+    }
+
+    @Test
+    public void testNotNumbers() {
+        assertParses(NumericText.NOT_NUMERIC, "");
+        assertParses(NumericText.NOT_NUMERIC, "-");
+        assertParses(NumericText.NOT_NUMERIC, "+");
+        assertParses(NumericText.NOT_NUMERIC, "One");
+        assertParses(NumericText.NOT_NUMERIC, "1One");
+        assertParses(NumericText.NOT_NUMERIC, "1 ");
+        assertParses(NumericText.NOT_NUMERIC, "--1");
+        assertParses(NumericText.NOT_NUMERIC, "9223372036854775808");
+        assertParses(NumericText.NOT_NUMERIC, "-9223372036854775808");
+        assertParses(NumericText.NOT_NUMERIC, "99999999999999999999");
+    }
+}
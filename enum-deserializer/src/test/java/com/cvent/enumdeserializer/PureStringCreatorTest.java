@@ -0,0 +1,117 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A unit test for memoizing string JsonCreators declared pure
+ */
+public class PureStringCreatorTest {
+
+    private static final AtomicInteger MEMOIZED_CALLS = new AtomicInteger();
+
+    /**
+     * Enum whose creator is memoized
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(pureStringCreator = true, stringCreatorCacheSize = 5)
+    public enum Memoized {
+        One,
+        Two;
+
+        @JsonCreator
+        public static Memoized fromString(String value) {
+            MEMOIZED_CALLS.incrementAndGet();
+            for (Memoized constant : values()) {
+                if (constant.name().equalsIgnoreCase(value)) {
+                    return constant;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Enum whose creators return a different constant every time, which they are allowed to unless declared pure
+     */
+    public enum Alternating {
+        Even,
+        Odd;
+
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        @JsonCreator
+        public static Alternating fromString(String value) {
+            return values()[CALLS.getAndIncrement() & 1];
+        }
+
+        @JsonCreator
+        public static Alternating fromInt(int value) {
+            return values()[CALLS.getAndIncrement() & 1];
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Test
+    public void testCreatorCalledOncePerText() throws Exception {
+        CreatorCacheStats before = EnumDeserializer.getCreatorCacheStats(Memoized.class);
+        int calls = MEMOIZED_CALLS.get();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Memoized.Two, OBJECT_MAPPER.readValue("\"two\"", Memoized.class));
+            assertNull(OBJECT_MAPPER.readValue("\"three\"", Memoized.class));
+        }
+        CreatorCacheStats after = EnumDeserializer.getCreatorCacheStats(Memoized.class);
+
+        assertEquals(2, MEMOIZED_CALLS.get() - calls);
+        assertEquals(18, after.getHits() - before.getHits());
+        assertEquals(2, after.getMisses() - before.getMisses());
+        // rounded up to a power of two
+        assertEquals(8, after.getCapacity());
+    }
+
+    @Test
+    public void testSharedInstancesOnlyMemoizedThroughTheCreatorCache() {
+        EnumResolution<Alternating> resolution = EnumResolution.forClass(Alternating.class);
+        // the same instance every time, like a canonical field name
+        String name = "name";
+        String code = "7";
+        int calls = Alternating.CALLS.get();
+        assertNotEquals(resolution.fromText(name), resolution.fromText(name));
+        assertNotEquals(resolution.fromText(code), resolution.fromText(code));
+        assertEquals(4, Alternating.CALLS.get() - calls);
+
+        EnumResolution<Memoized> memoized = EnumResolution.forClass(Memoized.class);
+        String two = "TWO";
+        CreatorCacheStats before = memoized.getCreatorCacheStats();
+        assertEquals(Memoized.Two, memoized.fromText(two));
+        assertEquals(Memoized.Two, memoized.fromText(two));
+        CreatorCacheStats after = memoized.getCreatorCacheStats();
+        assertEquals(1, after.getHits() - before.getHits());
+        assertEquals(1, after.getMisses() - before.getMisses());
+    }
+
+    @Test
+    public void testNotMemoizedByDefault() {
+        assertNull(EnumDeserializer.getCreatorCacheStats(TestEnumJsonCreatorString.class));
+        assertNull(EnumDeserializer.getCreatorCacheStats(TestEnumNoJsonCreator.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCacheSizeHasToBePositive() {
+        new StringCreatorCache<>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCacheSizeCantOverflow() {
+        new StringCreatorCache<>(StringCreatorCache.MAX_SIZE + 1);
+    }
+}
@@ -0,0 +1,22 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+/**
+ * Test enum with renamed and aliased constants
+ */
+@JsonDeserialize(using = EnumDeserializer.class)
+public enum TestEnumAliases {
+    @JsonProperty("uno")
+    One(1),
+    @JsonAlias({"dos", "deux"})
+    Two(2),
+    Three(3);
+
+    private final int value;
+    TestEnumAliases(int value) {
+        this.value = value;
+    }
+}
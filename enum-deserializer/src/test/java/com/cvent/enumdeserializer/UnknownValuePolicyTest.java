@@ -0,0 +1,231 @@
+package com.cvent.enumdeserializer;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonEnumDefaultValue;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A unit test for unknown value policies
+ */
+public class UnknownValuePolicyTest {
+
+    /**
+     * Enum with a default constant
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.DEFAULT)
+    public enum WithDefault {
+        One(1),
+        @JsonEnumDefaultValue
+        Unknown(0);
+
+        private final int code;
+
+        WithDefault(int code) {
+            this.code = code;
+        }
+    }
+
+    /**
+     * Enum that can't be read from codes
+     */
+    public enum NoCodes {
+        Red,
+        Green
+    }
+
+    /**
+     * Enum counting calls to its string creator
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum CountedCreator {
+        One;
+
+        static final AtomicInteger CREATOR_CALLS = new AtomicInteger();
+
+        @JsonCreator
+        public static CountedCreator fromString(String value) {
+            CREATOR_CALLS.incrementAndGet();
+            return "one".equals(value) ? One : null;
+        }
+    }
+
+    /**
+     * Enum counting calls to its int creator, declared pure
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    @EnumDeserializerOptions(pureIntCreator = true)
+    public enum CountedPureIntCreator {
+        One;
+
+        static final AtomicInteger CREATOR_CALLS = new AtomicInteger();
+
+        @JsonCreator
+        public static CountedPureIntCreator fromInt(int value) {
+            CREATOR_CALLS.incrementAndGet();
+            return value == 1 ? One : null;
+        }
+    }
+
+    /**
+     * Enum counting calls to its int creator, which isn't declared pure
+     */
+    @JsonDeserialize(using = EnumDeserializer.class)
+    public enum CountedIntCreator {
+        One;
+
+        static final AtomicInteger CREATOR_CALLS = new AtomicInteger();
+
+        @JsonCreator
+        public static CountedIntCreator fromInt(int value) {
+            CREATOR_CALLS.incrementAndGet();
+            return value == 1 ? One : null;
+        }
+    }
+
+    /**
+     * Handler mapping every unknown value to the first constant
+     */
+    public static class FirstConstantHandler implements UnknownEnumValueHandler {
+        @Override
+        public Enum<?> onUnknownName(Class<?> enumClass, String name) {
+            return (Enum<?>) enumClass.getEnumConstants()[0];
+        }
+
+        @Override
+        public Enum<?> onUnknownCode(Class<?> enumClass, long code) {
+            return code < 0 ? null : (Enum<?>) enumClass.getEnumConstants()[0];
+        }
+    }
+
+    /**
+     * Class to deserialize in tests
+     */
+    private static class TestClass {
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.FAIL)
+        public TestEnumNoJsonCreator failing;
+
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.CALLBACK,
+                unknownValueHandler = FirstConstantHandler.class)
+        public TestEnumNoJsonCreator callback;
+
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.FAIL)
+        @JsonDeserialize(using = EnumDeserializer.class)
+        public NoCodes noCodes;
+
+        public WithDefault withDefault;
+    }
+
+    /**
+     * Class using DEFAULT on an enum without a default constant
+     */
+    private static class MissingDefault {
+        @EnumDeserializerOptions(onUnknown = UnknownValuePolicy.DEFAULT)
+        public TestEnumNoJsonCreator value;
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static UnknownEnumValueException readUnknown(String json) throws Exception {
+        try {
+            OBJECT_MAPPER.readValue(json, TestClass.class);
+        } catch (UnknownEnumValueException ex) {
+            return ex;
+        }
+        throw new AssertionError("expected " + json + " to fail");
+    }
+
+    @Test
+    public void testFail() throws Exception {
+        UnknownEnumValueException ex = readUnknown("{\"failing\": \"Four\"}");
+        assertEquals(TestEnumNoJsonCreator.class, ex.getEnumClass());
+        assertEquals("Four", ex.getValue());
+        assertEquals(0, ex.getStackTrace().length);
+
+        assertEquals("4", readUnknown("{\"failing\": 4}").getValue());
+        assertEquals("-4", readUnknown("{\"failing\": \"-4\"}").getValue());
+        assertEquals(TestEnumNoJsonCreator.Two, OBJECT_MAPPER.readValue("{\"failing\": 2}", TestClass.class).failing);
+        assertNull(OBJECT_MAPPER.readValue("{\"failing\": null}", TestClass.class).failing);
+    }
+
+    @Test
+    public void testFailWithoutCodes() throws Exception {
+        assertEquals("1", readUnknown("{\"noCodes\": 1}").getValue());
+        assertEquals(NoCodes.Green, OBJECT_MAPPER.readValue("{\"noCodes\": \"Green\"}", TestClass.class).noCodes);
+    }
+
+    @Test
+    public void testDefault() throws Exception {
+        assertEquals(WithDefault.Unknown, OBJECT_MAPPER.readValue("\"Two\"", WithDefault.class));
+        assertEquals(WithDefault.Unknown, OBJECT_MAPPER.readValue("2", WithDefault.class));
+        assertEquals(WithDefault.One, OBJECT_MAPPER.readValue("1", WithDefault.class));
+        assertEquals(WithDefault.Unknown,
+                OBJECT_MAPPER.readValue("{\"withDefault\": \"Two\"}", TestClass.class).withDefault);
+    }
+
+    @Test
+    public void testDefaultNeedsDefaultConstant() throws Exception {
+        try {
+            OBJECT_MAPPER.readValue("{\"value\": \"One\"}", MissingDefault.class);
+            fail("expected DEFAULT without a default constant to fail");
+        } catch (JsonMappingException | IllegalArgumentException ex) {
+            assertTrue(String.valueOf(ex.getMessage()), ex.getMessage().contains("@JsonEnumDefaultValue"));
+        }
+    }
+
+    @Test
+    public void testCallback() throws Exception {
+        assertEquals(TestEnumNoJsonCreator.One,
+                OBJECT_MAPPER.readValue("{\"callback\": \"Four\"}", TestClass.class).callback);
+        assertEquals(TestEnumNoJsonCreator.One,
+                OBJECT_MAPPER.readValue("{\"callback\": 4}", TestClass.class).callback);
+        assertNull(OBJECT_MAPPER.readValue("{\"callback\": -4}", TestClass.class).callback);
+    }
+
+    @Test
+    public void testUnknownCodesAreCachedForPureIntCreators() throws Exception {
+        CountedPureIntCreator.CREATOR_CALLS.set(0);
+        for (int i = 0; i < 10; i++) {
+            assertNull(OBJECT_MAPPER.readValue("2", CountedPureIntCreator.class));
+        }
+        assertEquals(1, CountedPureIntCreator.CREATOR_CALLS.get());
+        assertEquals(CountedPureIntCreator.One, OBJECT_MAPPER.readValue("1", CountedPureIntCreator.class));
+    }
+
+    @Test
+    public void testUnknownValuesAreNotCachedForOtherCreators() throws Exception {
+        CountedCreator.CREATOR_CALLS.set(0);
+        CountedIntCreator.CREATOR_CALLS.set(0);
+        for (int i = 0; i < 10; i++) {
+            assertNull(OBJECT_MAPPER.readValue("\"two\"", CountedCreator.class));
+            assertNull(OBJECT_MAPPER.readValue("2", CountedIntCreator.class));
+        }
+        assertEquals(10, CountedCreator.CREATOR_CALLS.get());
+        assertEquals(10, CountedIntCreator.CREATOR_CALLS.get());
+        assertEquals(CountedCreator.One, OBJECT_MAPPER.readValue("\"one\"", CountedCreator.class));
+    }
+
+    @Test
+    public void testUnexpectedTokenHasNoStackTrace() throws Exception {
+        try {
+            OBJECT_MAPPER.readValue("{\"failing\": 1.5}", TestClass.class);
+            fail("expected a float to fail");
+        } catch (JsonMappingException ex) {
+            Throwable cause = ex;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            assertEquals(0, cause.getStackTrace().length);
+        }
+    }
+}